@@ -99,7 +99,7 @@ export const ScheduleProvider = ({ children }) => {
      setIsLoading(true); setError(null); setControlError(null); setSaveStatus({ saving: false, error: null, success: false }); setCustomEventError(null); setUndoRedoError(null); setShareError(null); setSharePath(null);
      try {
        const apiUrl = 'http://localhost:7070/api/schedule/current/add';
-       const requestBody = { subject: course.subject, courseCode: course.courseCode, section: course.section };
+       const requestBody = { subject: course.subject, courseCode: course.courseCode, section: course.section, semester: course.semester };
        const response = await fetch(apiUrl, { method: 'POST', headers: { 'Content-Type': 'application/json' }, body: JSON.stringify(requestBody) });
        if (!response.ok) {
          let errorData; try { errorData = await parseJsonResponse(response); } catch (parseError) { throw parseError; }
@@ -117,7 +117,11 @@ export const ScheduleProvider = ({ children }) => {
      if (isLoading || saveStatus.saving || isControlLoading || isAddingCustom || isUndoing || isRedoing || isSharing) { console.log("ScheduleContext: Already processing..."); return false; }
      setIsLoading(true); setError(null); setControlError(null); setSaveStatus({ saving: false, error: null, success: false }); setCustomEventError(null); setUndoRedoError(null); setShareError(null); setSharePath(null);
      try {
-       const apiUrl = `http://localhost:7070/api/schedule/current/remove/${course.courseCode}`;
+       const params = new URLSearchParams();
+       if (course.subject) params.set('subject', course.subject);
+       if (course.section) params.set('section', course.section);
+       if (course.semester) params.set('semester', course.semester);
+       const apiUrl = `http://localhost:7070/api/schedule/current/remove/${course.courseCode}?${params.toString()}`;
        const response = await fetch(apiUrl, { method: 'DELETE' });
         if (!response.ok) { let errorData; try { errorData = await parseJsonResponse(response); } catch (parseError) { throw parseError; } throw new Error(errorData.error || errorData.message || `HTTP error! Status: ${response.status}`); }
         const updatedSchedule = await parseJsonResponse(response);
@@ -0,0 +1,79 @@
+package newSite.core;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks {@link Search#searchQuery(String)} against the real catalog in data_wolfe.json.
+ * Run with {@code ./gradlew jmh}; the gc profiler configured in build.gradle adds the allocation
+ * rate (gc.alloc.rate.norm, bytes per query) next to throughput and average latency.
+ * Set {@code -Dcatalog=path/to/file.json} to benchmark another catalog.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    /**
+     * Whether repeated queries may be answered from the result cache.
+     * With "false" every call runs the full index lookup, which is what a first-time query costs.
+     */
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private Search search;
+
+    @Setup(Level.Trial)
+    public void loadCatalog() {
+        String catalog = System.getProperty("catalog", "data_wolfe.json");
+        Set<Course> courseDatabase = Main.loadCourseDatabase(catalog);
+        if (courseDatabase.isEmpty()) {
+            throw new IllegalStateException("No courses loaded from " + catalog);
+        }
+        // A cache that can hold nothing turns every lookup into a miss
+        search = cached ? new Search() : new Search(new SearchCache(0, 0));
+        search.courseDatabase = courseDatabase;
+        search.buildIndex();
+    }
+
+    @Benchmark
+    public Set<Course> singleToken() {
+        search.ResetFilters();
+        return search.searchQuery("comp");
+    }
+
+    @Benchmark
+    public Set<Course> multiToken() {
+        search.ResetFilters();
+        return search.searchQuery("intro computer science");
+    }
+
+    @Benchmark
+    public Set<Course> fuzzyMiss() {
+        // Long enough to use the wide fuzzy threshold, close to nothing in the catalog
+        search.ResetFilters();
+        return search.searchQuery("qxzvbnmkl");
+    }
+
+    @Benchmark
+    public Set<Course> emptyQuery() {
+        // Browsing: every course goes through the result set
+        search.ResetFilters();
+        return search.searchQuery("");
+    }
+
+    @Benchmark
+    public Set<Course> filteredQuery() {
+        search.ResetFilters();
+        search.ModifyTimeFilter(new TimeSlot("09:00:00", "15:00:00"));
+        search.ModifyDayFilter("MWF");
+        return search.searchQuery("principles");
+    }
+}
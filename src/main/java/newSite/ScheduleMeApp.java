@@ -9,6 +9,8 @@ import io.javalin.http.staticfiles.Location;
 
 // Import your core classes
 import newSite.api.AIController;
+import newSite.api.AdminController;
+import newSite.core.CatalogReloader;
 import newSite.core.Course;
 import newSite.core.Event;
 import newSite.core.EventDeserializer;
@@ -30,6 +32,7 @@ public class ScheduleMeApp {
     private static Search search;
     private static Set<Course> courseDatabase;
     private static final int DEFAULT_PORT = 7070;
+    private static final String CATALOG_FILE = "data_wolfe.json";
     // Removed cached404Html variable
 
     public static void main(String[] args) {
@@ -37,7 +40,7 @@ public class ScheduleMeApp {
         System.out.println("Loading course database...");
         // ***** START OF CHANGE *****
         // Ensure courseDatabase is loaded correctly (using Main's static method)
-        courseDatabase = Main.loadCourseDatabase("data_wolfe.json"); // Assuming data_wolfe.json is accessible
+        courseDatabase = Main.loadCourseDatabase(CATALOG_FILE); // Assuming data_wolfe.json is accessible
         // ***** END OF CHANGE *****
         if (courseDatabase == null || courseDatabase.isEmpty()) {
             System.err.println("FATAL: newSite.core.Course database failed to load or is empty. Exiting.");
@@ -50,6 +53,17 @@ public class ScheduleMeApp {
         // Assign the loaded database to the search instance
         search.courseDatabase = courseDatabase;
         // ***** END OF CHANGE *****
+        // Build the inverted search index once, up front, instead of on the first query
+        search.buildIndex();
+        System.out.println("Built search index.");
+
+        // Pick up changes to the catalog file without a restart; the new catalog is swapped in once fully built
+        CatalogReloader catalogReloader = new CatalogReloader(CATALOG_FILE, search);
+        try {
+            catalogReloader.startWatching();
+        } catch (Exception e) {
+            System.err.println("WARN: Could not watch " + CATALOG_FILE + " for changes: " + e.getMessage());
+        }
 
 
         scheduleManager = new ScheduleManager();
@@ -89,6 +103,7 @@ public class ScheduleMeApp {
         CourseController.registerEndpoints(app, search);
         ScheduleController.registerEndpoints(app, scheduleManager); // Pass the manager which now knows about search
         AIController.registerEndpoints(app, scheduleManager);
+        AdminController.registerEndpoints(app, catalogReloader);
 
         // 5. Register General Exception Handler (Keep this last)
         app.exception(Exception.class, (e, ctx) -> {
@@ -69,9 +69,9 @@ public class AIController {
         Schedule currentSchedule = ScheduleManager.getCurrentSchedule();
         String scheduleContextString = "No active schedule loaded."; // Default context
 
-        if (currentSchedule != null && currentSchedule.events != null && !currentSchedule.events.isEmpty()) {
+        if (currentSchedule != null && !currentSchedule.getEvents().isEmpty()) {
             // Simple string representation of events (customize as needed)
-            scheduleContextString = currentSchedule.events.stream()
+            scheduleContextString = currentSchedule.getEvents().stream()
                     .map(Event::toString) // Use the Event's toString() or create a custom representation
                     .collect(Collectors.joining("\n- ", "Current schedule ('" + currentSchedule.name + "') contains:\n- ", ""));
             System.out.println("AI Ask: Generated schedule context (first 200 chars): " + scheduleContextString.substring(0, Math.min(200, scheduleContextString.length())));
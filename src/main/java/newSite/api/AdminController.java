@@ -0,0 +1,67 @@
+package newSite.api;
+
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import newSite.core.CatalogReloader;
+import newSite.ScheduleMeApp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+public class AdminController {
+
+    // Admin requests must send this value in the X-Admin-Token header; without it admin endpoints refuse every request
+    private static final String ADMIN_TOKEN = System.getenv("ADMIN_TOKEN");
+
+    public static void registerEndpoints(Javalin app, CatalogReloader reloader) {
+        // Rebuild the course catalog from its file without restarting the server
+        app.post("/api/admin/catalog/reload", ctx -> reloadCatalog(ctx, reloader));
+
+        if (ADMIN_TOKEN == null || ADMIN_TOKEN.isEmpty()) {
+            System.out.println("WARN: ADMIN_TOKEN is not set; admin endpoints are disabled.");
+        }
+    }
+
+    /**
+     * Handles POST requests to reload the course catalog.
+     * The new catalog is built in the background and swapped in once complete; the response is sent
+     * when it is live.
+     *
+     * @param ctx      The Javalin context object.
+     * @param reloader The catalog reloader.
+     */
+    private static void reloadCatalog(Context ctx, CatalogReloader reloader) {
+        if (ADMIN_TOKEN == null || ADMIN_TOKEN.isEmpty()) {
+            ctx.status(403).json(new ScheduleMeApp.ErrorResponse("Forbidden", "Admin endpoints are disabled: ADMIN_TOKEN is not set"));
+            return;
+        }
+        if (!isAdminToken(ctx.header("X-Admin-Token"))) {
+            ctx.status(403).json(new ScheduleMeApp.ErrorResponse("Forbidden", "Invalid admin token"));
+            return;
+        }
+
+        try {
+            CatalogReloader.ReloadResult result = reloader.reloadAsync().join();
+            if (result.reloaded) {
+                ctx.json(result);
+            } else {
+                ctx.status(500).json(new ScheduleMeApp.ErrorResponse("Server Error", result.message));
+            }
+        } catch (Exception e) {
+            System.err.println("Catalog reload error: " + e.getMessage());
+            e.printStackTrace();
+            ctx.status(500).json(new ScheduleMeApp.ErrorResponse("Server Error", "Failed to reload the course catalog"));
+        }
+    }
+
+    /**
+     * Compares a request's token with ADMIN_TOKEN in constant time, so the response time does not
+     * reveal how much of a guessed token was right.
+     */
+    private static boolean isAdminToken(String token) {
+        if (token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(ADMIN_TOKEN.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
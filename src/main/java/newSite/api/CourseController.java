@@ -1,20 +1,197 @@
 package newSite.api;
 
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
+import newSite.core.ConflictGraph;
 import newSite.core.Course;
-import newSite.core.Filter; // Import Filter class
+import newSite.core.CourseCatalog;
+import newSite.core.Event;
+import newSite.core.Schedule;
+import newSite.core.ScheduleManager;
 import newSite.core.Search;
+import newSite.core.SearchQuery;
+import newSite.core.SearchResult;
+import newSite.core.SuggestTrie;
 import newSite.core.TimeSlot; // Import TimeSlot class
-import java.util.Set;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 // Assuming ErrorResponse is accessible
 import newSite.ScheduleMeApp;
 
 public class CourseController {
 
+    // Largest page we will serialize when the client asks for one with 'limit'
+    private static final int MAX_LIMIT = 500;
+
+    // Search results are written straight to the response with this compact (non-pretty) Gson
+    // instead of the app's pretty-printing mapper, which builds the whole body as one String first
+    private static final Gson COMPACT_GSON = new Gson();
+
+    // Most sections a single conflict request may ask about (a page of search results)
+    private static final int MAX_CONFLICT_SECTIONS = MAX_LIMIT;
+
+    // One section of a conflict request
+    public static class SectionRef {
+        public String subject;
+        public int courseCode;
+        public char section;
+        public String semester; // Optional; defaults to the latest semester offering the section
+    }
+
+    // JSON request body for POST /api/courses/conflicts
+    public static class ConflictRequest {
+        public List<SectionRef> sections;
+        public boolean includeSchedule; // Also report which sections clash with the current schedule
+    }
+
+    // Response of POST /api/courses/conflicts; every number is an index into the request's sections
+    public static class ConflictResponse {
+        public List<int[]> pairs = new ArrayList<>();                 // Sections that clash with each other
+        public List<Integer> conflictsWithSchedule = new ArrayList<>(); // Sections that clash with the current schedule
+        public List<Integer> notFound = new ArrayList<>();            // Sections not in the catalog
+    }
+
     public static void registerEndpoints(Javalin app, Search search) {
         // Search for courses based on a query and optional filters
         app.get("/api/courses/search", ctx -> searchCourses(ctx, search));
+        // Autocomplete suggestions while the user is typing
+        app.get("/api/courses/suggest", ctx -> suggestCourses(ctx, search));
+        // Which of a set of sections (e.g. the current search results) clash with each other and with the schedule
+        app.post("/api/courses/conflicts", ctx -> findConflicts(ctx, search));
+    }
+
+    /**
+     * Handles POST requests asking which sections conflict, answered from the catalog's precomputed
+     * {@link ConflictGraph}. Expects a JSON body with a 'sections' list of {subject, courseCode,
+     * section, semester} and an optional 'includeSchedule' flag.
+     *
+     * @param ctx    The Javalin context object.
+     * @param search The shared search instance.
+     */
+    private static void findConflicts(Context ctx, Search search) {
+        ConflictRequest request;
+        try {
+            request = ctx.bodyAsClass(ConflictRequest.class);
+        } catch (Exception e) {
+            ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "Invalid request body format. Expected JSON with a sections list."));
+            return;
+        }
+        if (request == null || request.sections == null) {
+            ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "sections is required"));
+            return;
+        }
+        if (request.sections.size() > MAX_CONFLICT_SECTIONS) {
+            ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "At most " + MAX_CONFLICT_SECTIONS + " sections per request"));
+            return;
+        }
+
+        CourseCatalog catalog = search.getCatalog();
+        if (catalog == null) {
+            ctx.status(500).json(new ScheduleMeApp.ErrorResponse("Server Configuration Error", "Course database not available"));
+            return;
+        }
+        ConflictGraph graph = catalog.conflicts();
+
+        // Resolve each section to its ordinal; a section listed twice maps back to its first position
+        ConflictResponse response = new ConflictResponse();
+        int[] ordinals = new int[request.sections.size()];
+        BitSet requested = new BitSet(catalog.size());
+        Map<Integer, Integer> positionOf = new HashMap<>();
+        for (int i = 0; i < ordinals.length; i++) {
+            SectionRef ref = request.sections.get(i);
+            ordinals[i] = (ref == null || ref.subject == null) ? -1 :
+                    catalog.ordinalOf(ref.subject.trim(), ref.courseCode, Character.toUpperCase(ref.section), ref.semester);
+            if (ordinals[i] < 0) {
+                response.notFound.add(i);
+                continue;
+            }
+            requested.set(ordinals[i]);
+            positionOf.putIfAbsent(ordinals[i], i);
+        }
+
+        // Clashes between the requested sections: one row-set intersection per section
+        for (int[] pair : graph.conflictingPairs(requested)) {
+            int first = positionOf.get(pair[0]);
+            int second = positionOf.get(pair[1]);
+            response.pairs.add(new int[]{Math.min(first, second), Math.max(first, second)});
+        }
+        response.pairs.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+
+        Schedule schedule = ScheduleManager.getCurrentSchedule();
+        if (request.includeSchedule && schedule != null) {
+            // Same rule as adding to the schedule (any time overlap, whatever the semester). Catalog
+            // sections on the schedule go through the graph, which only links sections of one semester;
+            // clashes across semesters and with custom events are checked directly
+            BitSet scheduled = new BitSet(catalog.size());
+            List<Event> events = new ArrayList<>(schedule.getEvents());
+            boolean[] inGraph = new boolean[events.size()];
+            for (int e = 0; e < events.size(); e++) {
+                int ordinal = events.get(e) instanceof Course course ?
+                        catalog.ordinalOf(course.subject, course.courseCode, course.section, course.semester) : -1;
+                if (ordinal >= 0) {
+                    scheduled.set(ordinal);
+                    inGraph[e] = true;
+                }
+            }
+            BitSet clashing = graph.conflictsWithAny(scheduled);
+            for (int i = 0; i < ordinals.length; i++) {
+                if (ordinals[i] < 0) continue;
+                Course section = catalog.allCourses().course(ordinals[i]);
+                boolean conflict = clashing.get(ordinals[i]);
+                for (int e = 0; !conflict && e < events.size(); e++) {
+                    if (inGraph[e] && section.semester.equalsIgnoreCase(((Course) events.get(e)).semester)) {
+                        continue; // Already answered by the graph
+                    }
+                    conflict = section.ConflictsWith(events.get(e));
+                }
+                if (conflict) response.conflictsWithSchedule.add(i);
+            }
+        }
+        ctx.json(response);
+    }
+
+    /**
+     * Handles GET requests for autocomplete suggestions.
+     * Expects a 'prefix' query parameter, an optional 'limit' (default and maximum 10) and an
+     * optional 'semester' to only suggest terms from that semester.
+     *
+     * @param ctx    The Javalin context object.
+     * @param search The shared search instance.
+     */
+    private static void suggestCourses(Context ctx, Search search) {
+        String prefix = ctx.queryParam("prefix");
+        if (prefix == null || prefix.trim().isEmpty()) {
+            ctx.json(new ArrayList<SuggestTrie.Suggestion>()); // Nothing typed yet, nothing to suggest
+            return;
+        }
+
+        int limit = SuggestTrie.MAX_SUGGESTIONS;
+        String limitStr = ctx.queryParam("limit");
+        if (limitStr != null && !limitStr.isEmpty()) {
+            try {
+                limit = Integer.parseInt(limitStr);
+            } catch (NumberFormatException e) {
+                ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "limit must be an integer"));
+                return;
+            }
+        }
+
+        try {
+            List<SuggestTrie.Suggestion> suggestions = search.suggest(prefix, limit, ctx.queryParam("semester"));
+            ctx.json(suggestions);
+        } catch (Exception e) {
+            System.err.println("Course suggest error: " + e.getMessage());
+            e.printStackTrace();
+            ctx.status(500).json(new ScheduleMeApp.ErrorResponse("Server Error", "Failed to get suggestions"));
+        }
     }
 
     private static void searchCourses(Context ctx, Search search) {
@@ -29,15 +206,41 @@ public class CourseController {
         String startTimeStr = ctx.queryParam("startTime"); // e.g., "09:00"
         String endTimeStr = ctx.queryParam("endTime");   // e.g., "17:30"
         String daysStr = ctx.queryParam("days");         // e.g., "MWF"
+        String semesterStr = ctx.queryParam("semester"); // e.g., "2025_Spring"
+        String fitsStr = ctx.queryParam("fitsCurrentSchedule"); // "true" to drop sections that clash with the current schedule
 
-        // --- Apply Filters to Search Object ---
-        // Ensure the filter object exists
-        if (search.filter == null) {
-            search.filter = new Filter();
+        // --- Read Paging Parameters ---
+        // 'cursor' is the value of the X-Next-Cursor header returned with the previous page.
+        // Without 'limit' every match is returned, as clients that do not page (the React search bar) expect.
+        boolean paged = false;
+        int limit = Integer.MAX_VALUE;
+        int offset = 0;
+        try {
+            String limitStr = ctx.queryParam("limit");
+            if (limitStr != null && !limitStr.isEmpty()) {
+                limit = Integer.parseInt(limitStr);
+                paged = true;
+            }
+            String cursorStr = ctx.queryParam("cursor");
+            if (cursorStr != null && !cursorStr.isEmpty()) {
+                offset = Integer.parseInt(cursorStr);
+            }
+        } catch (NumberFormatException e) {
+            ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "limit and cursor must be integers"));
+            return;
+        }
+        if (limit <= 0 || offset < 0) {
+            ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "limit must be positive and cursor must not be negative"));
+            return;
+        }
+        if (paged) {
+            limit = Math.min(limit, MAX_LIMIT);
         }
 
-        // Reset previous filters before applying new ones for this request
-        search.ResetFilters(); // Clear timeRange and dayRange
+        // --- Build a Query for this Request ---
+        // Each request gets its own immutable SearchQuery; the shared Search instance is never modified,
+        // so concurrent searches cannot see each other's filters.
+        SearchQuery searchQuery = new SearchQuery(query);
 
         // Apply Time Filter if both start and end are provided
         if (startTimeStr != null && !startTimeStr.isEmpty() && endTimeStr != null && !endTimeStr.isEmpty()) {
@@ -51,7 +254,7 @@ public class CourseController {
                     TimeSlot timeFilterSlot = new TimeSlot(startWithSeconds, endWithSeconds);
                     // Only apply if start time is before end time
                     if (timeFilterSlot.startTime < timeFilterSlot.endTime) {
-                        search.ModifyTimeFilter(timeFilterSlot);
+                        searchQuery = searchQuery.withTimeRange(timeFilterSlot);
                         System.out.println("Applied Time Filter: " + timeFilterSlot); // Logging
                     } else {
                         System.out.println("Ignoring invalid time range filter (start >= end): " + startTimeStr + " - " + endTimeStr);
@@ -63,30 +266,79 @@ public class CourseController {
             } catch (Exception e) {
                 // Log error if time parsing fails, but don't block the search
                 System.err.println("Error parsing time filter: " + e.getMessage() + " for " + startTimeStr + "/" + endTimeStr);
-                search.filter.timeRange = null; // Ensure it's reset if parsing fails
             }
-        } else {
-            search.filter.timeRange = null; // Ensure time filter is null if not fully provided
         }
 
         // Apply Days Filter if provided
         if (daysStr != null && !daysStr.isEmpty()) {
-            search.ModifyDayFilter(daysStr); // This method already handles cleaning the string
-            System.out.println("Applied Days Filter: " + search.filter.dayRange); // Logging
-        } else {
-            search.filter.dayRange = null; // Ensure day filter is null if not provided
+            searchQuery = searchQuery.withDays(daysStr); // This method already handles cleaning the string
+            System.out.println("Applied Days Filter: " + searchQuery.getDayRange()); // Logging
+        }
+
+        // Restrict to one semester if provided; only that semester's index is searched
+        if (semesterStr != null && !semesterStr.trim().isEmpty()) {
+            if (!isKnownSemester(search, semesterStr)) {
+                ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "Unknown semester: " + semesterStr.trim()));
+                return;
+            }
+            searchQuery = searchQuery.withSemester(semesterStr);
+        }
+
+        // Only keep sections that fit around the current schedule; without one, nothing can clash
+        if (Boolean.parseBoolean(fitsStr)) {
+            Schedule schedule = ScheduleManager.getCurrentSchedule();
+            if (schedule != null) {
+                searchQuery = searchQuery.withoutConflictsWith(schedule); // Occupancy is computed once here
+                System.out.println("Applied Schedule Filter: " + searchQuery.getScheduleMeetings().size() + " meetings"); // Logging
+            }
         }
 
 
         // --- Perform Search ---
         try {
-            Set<Course> results = search.searchQuery(query.trim()); // Use the Search class logic with applied filters
-            ctx.json(results); // Return results as JSON
+            // Stateless, safe to run concurrently. With 'limit' only the requested page (at most MAX_LIMIT)
+            // is ranked and serialized; without it every match is sorted and streamed
+            SearchResult result = search.executeRanked(searchQuery, limit, offset);
+            ctx.header("X-Total-Count", String.valueOf(result.totalMatches));
+            if (result.nextOffset >= 0) {
+                ctx.header("X-Next-Cursor", String.valueOf(result.nextOffset));
+            }
+            writeCourses(ctx, result.courses); // Return results as JSON, best match first
+        } catch (IOException e) {
+            // The response is already partly written, so the status can no longer change
+            System.err.println("Course search error while writing results: " + e.getMessage());
         } catch (Exception e) {
             System.err.println("Course search error: " + e.getMessage());
             e.printStackTrace();
             ctx.status(500).json(new ScheduleMeApp.ErrorResponse("Server Error", "Failed to perform course search"));
         }
-        // Note: ResetFilters() was moved *before* applying new filters for this request.
     }
-}
\ No newline at end of file
+
+    private static boolean isKnownSemester(Search search, String semester) {
+        for (String known : search.getSemesters()) {
+            if (known.equalsIgnoreCase(semester.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Streams courses to the response as a compact JSON array, one course at a time, so no
+     * String holding the whole body is ever built.
+     *
+     * @param ctx     The Javalin context object.
+     * @param courses The courses to write, in order.
+     * @throws IOException If writing to the client fails.
+     */
+    private static void writeCourses(Context ctx, List<Course> courses) throws IOException {
+        ctx.contentType("application/json");
+        JsonWriter writer = new JsonWriter(new OutputStreamWriter(ctx.outputStream(), StandardCharsets.UTF_8));
+        writer.beginArray();
+        for (Course course : courses) {
+            COMPACT_GSON.toJson(course, Course.class, writer);
+        }
+        writer.endArray();
+        writer.flush();
+    }
+}
@@ -4,8 +4,10 @@ package newSite.api;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
 import newSite.core.Course;
+import newSite.core.CourseCatalog;
 import newSite.core.Event;
 import newSite.core.Schedule;
+import newSite.core.ScheduleGenerator;
 import newSite.core.ScheduleManager;
 import newSite.core.Search;
 import newSite.core.User;
@@ -31,6 +33,7 @@ public class ScheduleController {
         public int courseCode; // Field name must match JSON key from frontend ("courseCode")
         public String subject;
         public char section;
+        public String semester; // Optional, e.g. "2025_Spring"; defaults to the latest semester offering the section
 
     }
 
@@ -78,6 +81,21 @@ public class ScheduleController {
         public int startTimeSeconds;
         public int endTimeSeconds;
     }
+
+    /**
+     * Represents the JSON request body for generating schedules.
+     */
+    public static class GenerateRequest {
+        public String semester; // e.g. "2025_Spring"; defaults to the latest semester
+        public List<WantedCourseRequest> courses;
+        public boolean pinCurrentSchedule; // Only generate schedules that fit around the current schedule's events
+        public int limit; // Maximum number of schedules; 0 for the default
+    }
+
+    public static class WantedCourseRequest {
+        public String subject;
+        public int courseCode;
+    }
     // --- End Inner Classes ---
 
 
@@ -89,6 +107,8 @@ public class ScheduleController {
         app.post("/api/schedule/current/add-custom", ctx -> addCustomEventToCurrentSchedule(ctx, scheduleManager));
         app.delete("/api/schedule/current/remove/{courseCode}", ctx -> removeCourseFromCurrentSchedule(ctx, scheduleManager));
         app.post("/api/schedule/current/remove-event", ctx -> removeEventFromCurrentSchedule(ctx, scheduleManager));
+        // Every conflict-free combination of sections for a list of courses
+        app.post("/api/schedule/generate", ctx -> generateSchedules(ctx, scheduleManager));
 
         // /**********************************************************************/
         // /* START OF NEW CODE                                                  */
@@ -134,7 +154,7 @@ public class ScheduleController {
 
     /**
      * Handles POST requests to add a specific course section to the current schedule.
-     * Uses subject, courseCode, and section from the request body
+     * Uses subject, courseCode, section and the optional semester from the request body
      * to uniquely identify the course.
      *
      * @param ctx             The Javalin context object.
@@ -179,21 +199,20 @@ public class ScheduleController {
             int courseCodeToAdd = request.courseCode;
             char sectionToAdd = Character.toUpperCase(request.section); // Normalize section
 
-            System.out.println("addCourseToCurrentSchedule: Received request to add course: Subject=" + subjectToAdd + ", Code=" + courseCodeToAdd + ", Section=" + sectionToAdd);
-
-            // --- Find the specific course in the database ---
-            // Use stream().filter() to match on subject, courseCode, AND section
-            Course courseToAdd = scheduleManager.currentSearch.courseDatabase.stream()
-                    .filter(c -> c != null &&
-                            subjectToAdd.equals(c.subject) && // Match subject
-                            c.courseCode == courseCodeToAdd && // Match course code
-                            sectionToAdd == c.section // Match section
-                    )
-                    .findFirst() // Find the first (and supposedly only) match
-                    // Throw exception if no matching course section is found
-                    .orElseThrow(() -> new NoSuchElementException(
-                            "Course with Subject=" + subjectToAdd + ", Code=" + courseCodeToAdd + ", Section=" + sectionToAdd + " not found in database"
-                    ));
+            String semesterToAdd = request.semester; // May be null
+
+            System.out.println("addCourseToCurrentSchedule: Received request to add course: Subject=" + subjectToAdd + ", Code=" + courseCodeToAdd + ", Section=" + sectionToAdd + ", Semester=" + (semesterToAdd != null ? semesterToAdd : "latest"));
+
+            // --- Find the specific course in the catalog ---
+            // Hash lookup on subject, courseCode, section (and semester), independent of catalog size
+            CourseCatalog catalog = scheduleManager.currentSearch.getCatalog();
+            Course courseToAdd = catalog != null ? catalog.find(subjectToAdd, courseCodeToAdd, sectionToAdd, semesterToAdd) : null;
+            if (courseToAdd == null) {
+                // Throw exception if no matching course section is found
+                throw new NoSuchElementException(
+                        "Course with Subject=" + subjectToAdd + ", Code=" + courseCodeToAdd + ", Section=" + sectionToAdd +
+                                (semesterToAdd != null ? ", Semester=" + semesterToAdd : "") + " not found in database");
+            }
 
             System.out.println("addCourseToCurrentSchedule: Found specific course section: " + courseToAdd.name + " [" + courseToAdd.section + "]. Attempting to add...");
 
@@ -227,6 +246,76 @@ public class ScheduleController {
         }
     }
 
+    /**
+     * Handles POST requests to generate conflict-free schedules for a list of wanted courses.
+     * Expects a JSON body with 'courses' (subject and courseCode each), an optional 'semester',
+     * 'pinCurrentSchedule' and 'limit'. Responds with the generator's result; the sections of
+     * each schedule are listed in the order of the requested courses.
+     */
+    private static void generateSchedules(Context ctx, ScheduleManager scheduleManager) {
+        if (scheduleManager.currentSearch == null || scheduleManager.currentSearch.getCatalog() == null) {
+            System.err.println("FATAL ERROR in generateSchedules: ScheduleManager's Search or Course Database is null!");
+            ctx.status(500).json(new ScheduleMeApp.ErrorResponse("Server Configuration Error", "Course database not available to ScheduleManager"));
+            return;
+        }
+
+        GenerateRequest request;
+        try {
+            request = ctx.bodyAsClass(GenerateRequest.class);
+        } catch (com.google.gson.JsonSyntaxException | io.javalin.http.BadRequestResponse e) {
+            System.err.println("generateSchedules error - Invalid JSON or request body: " + e.getMessage());
+            ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "Invalid request body format. Expected JSON with a courses list."));
+            return;
+        }
+        if (request == null || request.courses == null || request.courses.isEmpty()) {
+            ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "At least one course is required"));
+            return;
+        }
+        List<ScheduleGenerator.WantedCourse> wanted = new ArrayList<>();
+        for (WantedCourseRequest course : request.courses) {
+            if (course == null || course.subject == null || course.subject.trim().isEmpty() || course.courseCode <= 0) {
+                ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "Every course needs a subject and a courseCode"));
+                return;
+            }
+            wanted.add(new ScheduleGenerator.WantedCourse(course.subject.trim().toUpperCase(), course.courseCode));
+        }
+        if (request.limit < 0) {
+            ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "limit must not be negative"));
+            return;
+        }
+        int limit = request.limit == 0 ? ScheduleGenerator.DEFAULT_LIMIT : Math.min(request.limit, ScheduleGenerator.MAX_LIMIT);
+
+        CourseCatalog catalog = scheduleManager.currentSearch.getCatalog();
+        String semester = request.semester;
+        if (semester == null || semester.trim().isEmpty()) {
+            semester = catalog.latestSemester();
+        } else if (catalog.semester(semester) == null) {
+            ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "Unknown semester: " + semester.trim()));
+            return;
+        }
+
+        // Work on a copy, so the current schedule can change while we generate
+        Schedule pinned = null;
+        if (request.pinCurrentSchedule) {
+            Schedule current = ScheduleManager.getCurrentSchedule();
+            if (current == null) {
+                ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "No active schedule to pin"));
+                return;
+            }
+            pinned = new Schedule();
+            pinned.setEvents(current.getEvents());
+        }
+
+        try {
+            ScheduleGenerator.Result result = new ScheduleGenerator(catalog).generate(semester, wanted, pinned, limit);
+            ctx.json(result);
+        } catch (Exception e) {
+            System.err.println("generateSchedules unexpected error: " + e.getMessage());
+            e.printStackTrace();
+            ctx.status(500).json(new ScheduleMeApp.ErrorResponse("Server Error", "Failed to generate schedules due to an unexpected error."));
+        }
+    }
+
     private static void addCustomEventToCurrentSchedule(Context ctx, ScheduleManager scheduleManager) {
         // ... (implementation from previous step) ...
         System.out.println(">>> ENTERED addCustomEventToCurrentSchedule handler");
@@ -322,6 +411,14 @@ public class ScheduleController {
         }
     }
 
+    /**
+     * Handles DELETE requests to remove a course from the current schedule.
+     * The course code comes from the path; the optional 'subject', 'section' and 'semester' query
+     * parameters pick the exact section when several scheduled courses share a code.
+     *
+     * @param ctx             The Javalin context object.
+     * @param scheduleManager The shared schedule manager instance.
+     */
     private static void removeCourseFromCurrentSchedule(Context ctx, ScheduleManager scheduleManager) {
         // ... (implementation) ...
         if (scheduleManager.user == null) {
@@ -338,15 +435,8 @@ public class ScheduleController {
             System.out.println("Received request to remove course code: " + courseCodeToRemove);
             Schedule currentSchedule = ScheduleManager.getCurrentSchedule();
 
-            Event eventToRemove = null;
-            if (currentSchedule.events != null) {
-                for (Event event : currentSchedule.events) {
-                    if (event instanceof Course && ((Course) event).courseCode == courseCodeToRemove) {
-                        eventToRemove = event;
-                        break;
-                    }
-                }
-            }
+            Event eventToRemove = findCourseInSchedule(scheduleManager, currentSchedule, courseCodeToRemove,
+                    ctx.queryParam("subject"), ctx.queryParam("section"), ctx.queryParam("semester"));
 
             if (eventToRemove == null) {
                 System.out.println("Course code " + courseCodeToRemove + " not found in current schedule.");
@@ -369,6 +459,51 @@ public class ScheduleController {
         }
     }
 
+    /**
+     * Finds the scheduled course to remove. Candidates come from the catalog's indexes (the exact
+     * section when subject and section are given, otherwise every section with the code, restricted
+     * to the semester when one is given) and are checked against the schedule's event set; courses
+     * the catalog no longer has (e.g. from an old saved schedule) are found by scanning the schedule
+     * instead.
+     *
+     * @return The scheduled course, or null if the schedule has no matching course.
+     */
+    private static Event findCourseInSchedule(ScheduleManager scheduleManager, Schedule schedule, int courseCode,
+                                              String subject, String section, String semester) {
+        boolean exact = subject != null && !subject.trim().isEmpty() && section != null && section.trim().length() == 1;
+        char sectionChar = exact ? Character.toUpperCase(section.trim().charAt(0)) : 0;
+        boolean bySemester = semester != null && !semester.trim().isEmpty();
+
+        CourseCatalog catalog = scheduleManager.currentSearch != null ? scheduleManager.currentSearch.getCatalog() : null;
+        if (catalog != null) {
+            if (exact && bySemester) {
+                Course course = catalog.find(subject.trim(), courseCode, sectionChar, semester);
+                if (course != null && schedule.getEvents().contains(course)) {
+                    return course;
+                }
+            } else {
+                for (Course course : catalog.sectionsWithCode(courseCode)) {
+                    if (exact && (course.section != sectionChar || !course.subject.equalsIgnoreCase(subject.trim()))) continue;
+                    if (bySemester && !semester.trim().equalsIgnoreCase(course.semester)) continue;
+                    if (schedule.getEvents().contains(course)) {
+                        return course;
+                    }
+                }
+            }
+        }
+
+        // Not in the catalog: fall back to the schedule itself, which only holds a handful of events
+        for (Event event : schedule.getEvents()) {
+            if (event instanceof Course && ((Course) event).courseCode == courseCode) {
+                Course course = (Course) event;
+                if (exact && (course.section != sectionChar || !subject.trim().equalsIgnoreCase(course.subject))) continue;
+                if (bySemester && !semester.trim().equalsIgnoreCase(course.semester)) continue;
+                return event;
+            }
+        }
+        return null;
+    }
+
     private static void removeEventFromCurrentSchedule(Context ctx, ScheduleManager scheduleManager) {
         // ... (implementation from previous step) ...
         System.out.println(">>> ENTERED removeEventFromCurrentSchedule handler");
@@ -379,7 +514,7 @@ public class ScheduleController {
             return;
         }
         Schedule currentSchedule = ScheduleManager.getCurrentSchedule();
-        if (currentSchedule == null || currentSchedule.events == null) {
+        if (currentSchedule == null) {
             ctx.status(400).json(new ScheduleMeApp.ErrorResponse("Bad Request", "No active schedule to remove event from"));
             return;
         }
@@ -405,7 +540,7 @@ public class ScheduleController {
 
             Event eventToRemove = null;
             // Iterate safely using an Iterator to allow removal during iteration
-            Iterator<Event> iterator = currentSchedule.events.iterator();
+            Iterator<Event> iterator = currentSchedule.getEvents().iterator();
             while (iterator.hasNext()) {
                 Event event = iterator.next();
                 // Check for match based on name, days, and time slot (using seconds)
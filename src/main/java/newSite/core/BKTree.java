@@ -0,0 +1,133 @@
+package newSite.core;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Burkhard-Keller tree over a vocabulary of search terms, keyed by Levenshtein distance.
+ * A lookup only visits the subtrees whose edge distance is within {@code maxDistance} of the
+ * query's distance to the parent (triangle inequality), so most of the vocabulary is never
+ * compared against the query.
+ * Each term carries the posting list of the courses that contain it.
+ * Distances are computed with two reusable DP rows, so a lookup allocates nothing per visited term.
+ */
+public class BKTree {
+
+    /**
+     * Receives every term found by {@link #search}.
+     */
+    public interface Visitor {
+        void visit(String term, int distance, int[] postings);
+    }
+
+    private static final class Node {
+        final String term;
+        final int[] postings;
+        Node[] children; // indexed by distance to this node's term
+
+        Node(String term, int[] postings) {
+            this.term = term;
+            this.postings = postings;
+        }
+    }
+
+    private Node root;
+    private int size;
+    private int longestTerm;
+
+    /**
+     * Adds a term to the tree. Terms must be distinct.
+     *
+     * @param term     The normalized term.
+     * @param postings The ordinals of the courses containing the term.
+     */
+    public void add(String term, int[] postings) {
+        Node node = new Node(term, postings);
+        size++;
+        longestTerm = Math.max(longestTerm, term.length());
+        if (root == null) {
+            root = node;
+            return;
+        }
+
+        int[] previous = new int[longestTerm + 1];
+        int[] row = new int[longestTerm + 1];
+        Node current = root;
+        while (true) {
+            int distance = distance(term, current.term, previous, row);
+            if (current.children == null) {
+                current.children = new Node[distance + 1];
+            } else if (current.children.length <= distance) {
+                current.children = Arrays.copyOf(current.children, distance + 1);
+            }
+            Node child = current.children[distance];
+            if (child == null) {
+                current.children[distance] = node;
+                return;
+            }
+            current = child;
+        }
+    }
+
+    /**
+     * Visits every term within {@code maxDistance} edits of the query.
+     *
+     * @param query       The lowercase query token.
+     * @param maxDistance The maximum Levenshtein distance to accept.
+     * @param visitor     Called once per matching term.
+     */
+    public void search(String query, int maxDistance, Visitor visitor) {
+        if (root == null) return;
+
+        int[] previous = new int[longestTerm + 1];
+        int[] current = new int[longestTerm + 1];
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.term, previous, current);
+            if (distance <= maxDistance) {
+                visitor.visit(node.term, distance, node.postings);
+            }
+            if (node.children == null) continue;
+
+            // Only children whose edge is within maxDistance of our distance can match
+            int low = Math.max(1, distance - maxDistance);
+            int high = Math.min(node.children.length - 1, distance + maxDistance);
+            for (int d = low; d <= high; d++) {
+                if (node.children[d] != null) {
+                    pending.push(node.children[d]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Levenshtein distance between {@code a} and {@code b}, using the caller's rows as scratch space.
+     * Both rows must hold at least {@code b.length() + 1} entries.
+     */
+    static int distance(String a, String b, int[] previous, int[] current) {
+        int m = b.length();
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            char ca = a.charAt(i - 1);
+            current[0] = i;
+            for (int j = 1; j <= m; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m];
+    }
+
+    /** @return The number of terms in the tree. */
+    public int size() {
+        return size;
+    }
+}
@@ -21,7 +21,7 @@ public class CalendarView {
         // Debug information when setting schedule
         if (schedule != null) {
             // System.out.println("Calendar view received schedule: " + schedule.name);
-            // System.out.println("Events in schedule: " + (schedule.events != null ? schedule.events.size() : "null"));
+            // System.out.println("Events in schedule: " + schedule.getEvents().size());
         }
     }
 
@@ -31,8 +31,8 @@ public class CalendarView {
 
     public void display() {
         // Print debug info before display
-        if (schedule != null && schedule.events != null) {
-            System.out.println("Displaying schedule with " + schedule.events.size() + " events");
+        if (schedule != null) {
+            System.out.println("Displaying schedule with " + schedule.getEvents().size() + " events");
         }
         
         // Print header with day names
@@ -68,8 +68,8 @@ public class CalendarView {
         StringBuilder content = new StringBuilder();
 
         // Check scheduled courses
-        if (schedule != null && schedule.events != null) {
-            for (Event event : schedule.events) {
+        if (schedule != null) {
+            for (Event event : schedule.getEvents()) {
                 if (event instanceof Course course) {
                     // Normalize the time values if needed
                     TimeSlot normalizedTime = normalizeTimeSlot(course.time);
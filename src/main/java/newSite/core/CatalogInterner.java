@@ -0,0 +1,183 @@
+package newSite.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of shared values used while a catalog is loaded. A catalog has thousands of sections but
+ * only a few hundred distinct instructors, rooms, subjects and meeting patterns, so every section
+ * asking for the same value gets the same instance instead of its own copy.
+ * <p>
+ * Interned {@link Professor}, {@link TimeSlot} and {@link Meeting} objects are shared between
+ * courses and must not be modified. One interner is used per load and then dropped, so a reloaded
+ * catalog does not keep the previous catalog's values alive. Thread-safe, so courses can be built
+ * in parallel; two threads asking for a new value at the same time still end up with one instance.
+ * <p>
+ * {@link #toString()} reports how many values were requested and how many distinct instances were
+ * kept, with an estimate of the heap the duplicates would have taken.
+ */
+public class CatalogInterner {
+
+    // Shallow sizes on a 64-bit JVM with compressed references, used for the footprint estimate
+    private static final int OBJECT_HEADER = 12;
+    private static final int REFERENCE = 4;
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<String, String> lowercase = new ConcurrentHashMap<>();    // original -> interned lowercase
+    private final Map<String, Professor> professors = new ConcurrentHashMap<>(); // by name
+    private final Map<Long, TimeSlot> timeSlots = new ConcurrentHashMap<>();     // by start << 32 | end
+    private final Map<Long, Meeting> meetings = new ConcurrentHashMap<>();       // by day << 48 | start << 24 | end
+    private final Map<String, String[]> words = new ConcurrentHashMap<>();       // kind + text -> split words
+
+    // Per kind: values requested and estimated bytes of the duplicates that were not kept
+    private final Map<String, LongAdder> requested = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> savedBytes = new ConcurrentHashMap<>();
+
+    /**
+     * @return The shared instance of a string, or null for null.
+     */
+    public String string(String value) {
+        if (value == null) return null;
+        String shared = strings.putIfAbsent(value, value);
+        count("strings", shared, stringBytes(value));
+        return shared != null ? shared : value;
+    }
+
+    /**
+     * @return The shared lowercase form of a string, or null for null.
+     */
+    public String lower(String value) {
+        if (value == null) return null;
+        String shared = lowercase.get(value);
+        if (shared == null) {
+            shared = string(value.toLowerCase());
+            String raced = lowercase.putIfAbsent(value, shared);
+            if (raced != null) shared = raced;
+        }
+        return shared;
+    }
+
+    /**
+     * @return The shared professor with this name, or null for a null name.
+     */
+    public Professor professor(String name) {
+        if (name == null) return null;
+        Professor shared = professors.get(name);
+        count("professors", shared, align(OBJECT_HEADER + 2 * REFERENCE + 2 * 4 + REFERENCE));
+        if (shared == null) {
+            shared = professors.computeIfAbsent(string(name), Professor::new);
+        }
+        return shared;
+    }
+
+    /**
+     * @return The shared time slot for these times.
+     */
+    public TimeSlot timeSlot(int startTime, int endTime) {
+        long key = ((long) startTime << 32) | (endTime & 0xFFFFFFFFL);
+        TimeSlot shared = timeSlots.get(key);
+        count("time slots", shared, align(OBJECT_HEADER + 2 * 4));
+        if (shared == null) {
+            shared = timeSlots.computeIfAbsent(key, k -> new TimeSlot(startTime, endTime));
+        }
+        return shared;
+    }
+
+    /**
+     * @return The shared time slot with the same times as {@code time}, or null for null.
+     */
+    public TimeSlot timeSlot(TimeSlot time) {
+        return time == null ? null : timeSlot(time.startTime, time.endTime);
+    }
+
+    /**
+     * @return The shared meeting for this day and times.
+     */
+    public Meeting meeting(char day, int startTime, int endTime) {
+        // Times are seconds within a day, well below 2^24
+        long key = ((long) day << 48) | ((long) (startTime & 0xFFFFFF) << 24) | (endTime & 0xFFFFFF);
+        Meeting shared = meetings.get(key);
+        count("meetings", shared, align(OBJECT_HEADER + 2 + 2 * 4));
+        if (shared == null) {
+            shared = meetings.computeIfAbsent(key, k -> new Meeting(day, startTime, endTime));
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the shared result of splitting a text, e.g. the words of a course name. Sections of the
+     * same course share one array. The arrays must not be modified.
+     *
+     * @param kind  What the text is ("name", "professor", ...), so different splits of one text do not collide.
+     * @param text  The text that was split.
+     * @param split The split result to use if this text has not been seen yet.
+     * @return The shared array.
+     */
+    String[] words(String kind, String text, String[] split) {
+        String key = kind + '\u0000' + text;
+        String[] shared = words.get(key);
+        long bytes = align(16 + REFERENCE * split.length);
+        for (String word : split) {
+            bytes += stringBytes(word);
+        }
+        count("word arrays", shared, bytes);
+        if (shared != null) {
+            return shared;
+        }
+        // Intern the words before publishing the array, so other threads never see it change
+        for (int i = 0; i < split.length; i++) {
+            split[i] = string(split[i]);
+        }
+        shared = words.putIfAbsent(key, split);
+        return shared != null ? shared : split;
+    }
+
+    private void count(String kind, Object shared, long bytes) {
+        requested.computeIfAbsent(kind, k -> new LongAdder()).increment();
+        if (shared != null) {
+            savedBytes.computeIfAbsent(kind, k -> new LongAdder()).add(bytes);
+        }
+    }
+
+    private static long stringBytes(String value) {
+        // String object plus its byte[] (Latin-1 compact strings)
+        return align(OBJECT_HEADER + REFERENCE + 4 + 1 + 1) + align(16 + value.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private int distinct(String kind) {
+        switch (kind) {
+            case "strings": return strings.size();
+            case "professors": return professors.size();
+            case "time slots": return timeSlots.size();
+            case "meetings": return meetings.size();
+            case "word arrays": return words.size();
+            default: return 0;
+        }
+    }
+
+    /** @return Estimated bytes of duplicate values that were replaced by a shared instance. */
+    public long getSavedBytes() {
+        long total = 0;
+        for (LongAdder bytes : savedBytes.values()) {
+            total += bytes.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("CatalogInterner:");
+        for (String kind : new String[]{"professors", "time slots", "meetings", "strings", "word arrays"}) {
+            LongAdder count = requested.get(kind);
+            if (count == null) continue;
+            report.append(String.format(" %s %d -> %d,", kind, count.sum(), distinct(kind)));
+        }
+        report.append(String.format(" ~%.1f KB of duplicates shared", getSavedBytes() / 1024.0));
+        return report.toString();
+    }
+}
@@ -0,0 +1,333 @@
+package newSite.core;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming loader for the course catalog JSON (e.g. data_wolfe.json).
+ * The "classes" array is read one element at a time with a {@link JsonReader} into small records
+ * of the fields we use. Every {@link #BATCH_SIZE} records are handed to the common
+ * {@link ForkJoinPool} to be turned into {@link Course}s (including their normalized search fields)
+ * while parsing continues; once a few batches per pool thread are waiting, the parser collects the
+ * oldest one before reading on. Peak heap is therefore the finished courses plus a bounded number
+ * of records, never the whole catalog in either form. Values repeated across sections (professors,
+ * times, subjects, rooms, ...) are shared through a {@link CatalogInterner}. The time spent parsing
+ * and building, and the duplicates the interner saved, are reported once the file is loaded.
+ */
+public class CatalogLoader {
+
+    /**
+     * The fields of one "classes" element, as read from the JSON.
+     */
+    private static final class RawCourse {
+        String name, location, section, semester, subject;
+        String professorName;
+        int number, credits, openSeats, totalSeats;
+        final StringBuilder days = new StringBuilder();
+        String firstStart, firstEnd;
+        final List<String[]> times = new ArrayList<>(); // day, start, end of every meeting
+    }
+
+    // Records per build task, and build tasks per pool thread that may wait before the parser collects one
+    static final int BATCH_SIZE = 256;
+    private static final int BATCHES_PER_THREAD = 2;
+
+    // Time of the last load, in nanoseconds: parsing (on the calling thread), building (summed over
+    // the pool threads, overlapping the parse) and wall-clock total
+    private long parseNanos;
+    private final AtomicLong buildNanos = new AtomicLong();
+    private long totalNanos;
+    private int read;    // elements in the "classes" array
+    private int skipped; // elements without faculty or meeting times, or malformed
+    private final AtomicInteger failed = new AtomicInteger(); // records whose Course could not be built
+    private String failure; // why the last load stopped before the end of the file, or null
+    private CatalogInterner interner = new CatalogInterner();
+
+    /**
+     * Reads a catalog file into a set of courses.
+     * Courses without faculty or without meeting times are skipped, as they cannot be scheduled.
+     *
+     * @param filePath Path to the JSON file.
+     * @return The courses; whatever was read before an error if the file is malformed.
+     */
+    public Set<Course> load(String filePath) {
+        Set<Course> courses = new HashSet<>();
+        Deque<ForkJoinTask<List<Course>>> building = new ArrayDeque<>();
+        int maxBuilding = BATCHES_PER_THREAD * ForkJoinPool.getCommonPoolParallelism();
+        List<RawCourse> batch = new ArrayList<>(BATCH_SIZE);
+        long waitNanos = 0; // time the parser spent collecting batches, not parsing
+        buildNanos.set(0);
+        read = 0;
+        skipped = 0;
+        failed.set(0);
+        failure = null;
+        interner = new CatalogInterner();
+        long start = System.nanoTime();
+
+        try (Reader in = new BufferedReader(new InputStreamReader(Files.newInputStream(Paths.get(filePath)), StandardCharsets.UTF_8));
+             JsonReader reader = new JsonReader(in)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("classes") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        RawCourse course = readCourse(reader);
+                        read++;
+                        if (course == null) {
+                            skipped++;
+                            continue;
+                        }
+                        batch.add(course);
+                        if (batch.size() == BATCH_SIZE) {
+                            building.add(submit(batch));
+                            batch = new ArrayList<>(BATCH_SIZE);
+                            if (building.size() > maxBuilding) {
+                                long waitStart = System.nanoTime();
+                                courses.addAll(building.poll().join());
+                                waitNanos += System.nanoTime() - waitStart;
+                            }
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue(); // "date", "time" and anything else we do not use
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            failure = String.valueOf(e.getMessage());
+            System.err.println("Error loading course database from " + filePath + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+        parseNanos = System.nanoTime() - start - waitNanos;
+
+        // Whatever was read before an error is still built; callers that must not use a partial
+        // catalog check getFailure()
+        if (!batch.isEmpty()) {
+            building.add(submit(batch));
+        }
+        while (!building.isEmpty()) {
+            courses.addAll(building.poll().join());
+        }
+
+        totalNanos = System.nanoTime() - start;
+        System.out.println(this);
+        System.out.println(interner);
+        return courses;
+    }
+
+    /**
+     * Reads one element of the "classes" array.
+     *
+     * @return Its fields, or null if it has no faculty or meeting times.
+     */
+    private RawCourse readCourse(JsonReader reader) throws IOException {
+        RawCourse course = new RawCourse();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name": course.name = nextString(reader); break;
+                case "location": course.location = nextString(reader); break;
+                case "section": course.section = nextString(reader); break;
+                case "semester": course.semester = nextString(reader); break;
+                case "subject": course.subject = nextString(reader); break;
+                case "number": course.number = nextInt(reader); break;
+                case "credits": course.credits = nextInt(reader); break;
+                case "open_seats": course.openSeats = nextInt(reader); break;
+                case "total_seats": course.totalSeats = nextInt(reader); break;
+                case "faculty":
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        break;
+                    }
+                    // The first faculty member is the primary professor
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        String faculty = nextString(reader);
+                        if (course.professorName == null) course.professorName = faculty;
+                    }
+                    reader.endArray();
+                    break;
+                case "times":
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        break;
+                    }
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        String day = null, startTime = null, endTime = null;
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            switch (reader.nextName()) {
+                                case "day": day = nextString(reader); break;
+                                case "start_time": startTime = nextString(reader); break;
+                                case "end_time": endTime = nextString(reader); break;
+                                default: reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        // Combine days from all time slots (e.g., "MWF" or "TR")
+                        if (day != null) course.days.append(day);
+                        course.times.add(new String[]{day, startTime, endTime});
+                        if (course.firstStart == null) {
+                            course.firstStart = startTime != null ? startTime : "";
+                            course.firstEnd = endTime != null ? endTime : "";
+                        }
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue(); // is_lab, is_open, ...
+            }
+        }
+        reader.endObject();
+
+        // Skip courses that cannot be placed on a schedule
+        if (course.professorName == null || course.firstStart == null || course.section == null || course.section.isEmpty()) {
+            return null;
+        }
+        return course;
+    }
+
+    /**
+     * Starts building the courses of a batch of records on the common pool.
+     */
+    private ForkJoinTask<List<Course>> submit(List<RawCourse> batch) {
+        return ForkJoinTask.adapt(() -> buildBatch(batch)).fork();
+    }
+
+    /**
+     * Builds the courses of a batch. A record that cannot be built (e.g. a malformed time) is
+     * reported and skipped; the rest of the batch and of the catalog are unaffected.
+     */
+    private List<Course> buildBatch(List<RawCourse> batch) {
+        long start = System.nanoTime();
+        List<Course> courses = new ArrayList<>(batch.size());
+        for (RawCourse raw : batch) {
+            try {
+                courses.add(buildCourse(raw));
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                System.err.println("Skipping malformed class " + raw.subject + " " + raw.number + " " + raw.section +
+                        " (" + raw.semester + "): " + e);
+            }
+        }
+        buildNanos.addAndGet(System.nanoTime() - start);
+        return courses;
+    }
+
+    /**
+     * Builds the course for a parsed element. Runs on the pool, so it only touches the interner
+     * (which is thread-safe) and its own record.
+     */
+    private Course buildCourse(RawCourse raw) {
+        Course course = new Course(
+                interner.string(raw.name),
+                interner.timeSlot(new TimeSlot(raw.firstStart, raw.firstEnd)), // The first time slot; every slot is kept in meetings
+                interner.string(raw.days.toString()),
+                interner.professor(raw.professorName),
+                raw.number,
+                interner.string(raw.semester),
+                interner.string(raw.location),
+                raw.section.charAt(0),
+                interner.string(raw.subject),
+                raw.credits,
+                interner
+        );
+        course.meetings = meetingsOf(raw.times);
+        course.openSeats = raw.openSeats;
+        course.totalSeats = raw.totalSeats;
+        return course;
+    }
+
+    /**
+     * Converts the catalog's time entries into meetings; entries without a day or time are dropped.
+     */
+    private List<Meeting> meetingsOf(List<String[]> times) {
+        List<Meeting> meetings = new ArrayList<>(times.size());
+        for (String[] entry : times) {
+            if (entry[0] == null || entry[0].isEmpty() || entry[1] == null || entry[1].isEmpty() ||
+                    entry[2] == null || entry[2].isEmpty()) {
+                continue;
+            }
+            TimeSlot slot = new TimeSlot(entry[1], entry[2]);
+            meetings.add(interner.meeting(entry[0].charAt(0), slot.startTime, slot.endTime));
+        }
+        return meetings;
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static int nextInt(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0;
+        }
+        return reader.nextInt();
+    }
+
+    /**
+     * @return Why the last load stopped before the end of the file (e.g. the file is truncated or still
+     *         being written), or null if the whole file was read. The courses read before the error
+     *         are still returned by {@link #load}.
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    /** @return Time spent reading the JSON into records during the last load, in milliseconds. */
+    public double getParseMillis() {
+        return parseNanos / 1e6;
+    }
+
+    /**
+     * @return Time spent building Course objects (including their search fields) during the last load,
+     *         summed over the pool threads, in milliseconds. Building overlaps parsing.
+     */
+    public double getBuildMillis() {
+        return buildNanos.get() / 1e6;
+    }
+
+    /** @return The interner of the last load, with its footprint report. */
+    public CatalogInterner getInterner() {
+        return interner;
+    }
+
+    /** @return Wall-clock time of the last load, in milliseconds. */
+    public double getTotalMillis() {
+        return totalNanos / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CatalogLoader: read %d classes (%d skipped, %d malformed) in %.1f ms " +
+                        "[parse %.1f ms, build %.1f ms in batches of %d, parallelism %d]",
+                read, skipped, failed.get(), getTotalMillis(), getParseMillis(), getBuildMillis(), BATCH_SIZE,
+                ForkJoinPool.getCommonPoolParallelism());
+    }
+}
@@ -0,0 +1,178 @@
+package newSite.core;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reloads the course catalog while the server is running, e.g. when seat counts or sections change
+ * during registration. The new catalog and all of its indexes are built on a background thread and
+ * then swapped into the running {@link Search} in one step (see {@link Search#replaceCatalog}), so
+ * requests keep using the old catalog until the new one is complete. Sessions and their schedules
+ * are not touched.
+ * <p>
+ * A reload can be requested through {@link #reloadAsync()} (used by the admin endpoint) or happen
+ * automatically when the catalog file changes, once {@link #startWatching()} has been called.
+ */
+public class CatalogReloader {
+
+    // Editors and copy tools often write a file in several steps; wait for them to finish
+    private static final long SETTLE_MILLIS = 500;
+
+    /**
+     * Outcome of a reload, returned as JSON by the admin endpoint.
+     */
+    public static class ReloadResult {
+        public boolean reloaded;
+        public int courses;
+        public List<String> semesters;
+        public double millis;
+        public String message;
+    }
+
+    private final String filePath;
+    private final Search search;
+
+    // One reload at a time, in the background
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile WatchService watchService;
+
+    /**
+     * @param filePath Path to the catalog JSON file.
+     * @param search   The search instance whose catalog is replaced.
+     */
+    public CatalogReloader(String filePath, Search search) {
+        this.filePath = filePath;
+        this.search = search;
+    }
+
+    /**
+     * Schedules a reload on the background thread.
+     *
+     * @return Completes with the outcome once the new catalog is live (or the reload was rejected).
+     */
+    public CompletableFuture<ReloadResult> reloadAsync() {
+        return CompletableFuture.supplyAsync(this::reload, executor);
+    }
+
+    /**
+     * Loads the catalog file, builds its indexes and swaps them in. Runs on the caller's thread.
+     * An empty, unreadable or incomplete file (e.g. one still being copied when the watcher wakes up)
+     * leaves the current catalog in place, and no snapshot is written for it.
+     *
+     * @return The outcome of the reload.
+     */
+    public synchronized ReloadResult reload() {
+        long start = System.nanoTime();
+        ReloadResult result = new ReloadResult();
+
+        Set<Course> courses;
+        try {
+            courses = CatalogSnapshot.loadComplete(filePath);
+        } catch (IOException e) {
+            result.reloaded = false;
+            result.message = "Could not load " + filePath + ": " + e.getMessage() + "; keeping the current catalog";
+            System.err.println("CatalogReloader: " + result.message);
+            return result;
+        }
+        if (courses.isEmpty()) {
+            result.reloaded = false;
+            result.message = "No courses could be loaded from " + filePath + "; keeping the current catalog";
+            System.err.println("CatalogReloader: " + result.message);
+            return result;
+        }
+        // Build everything before the swap, so no request ever sees a partly built index
+        CourseCatalog catalog = CourseCatalog.build(courses);
+        search.replaceCatalog(courses, catalog);
+
+        result.reloaded = true;
+        result.courses = catalog.size();
+        result.semesters = catalog.getSemesters();
+        result.millis = (System.nanoTime() - start) / 1e6;
+        result.message = "Reloaded " + result.courses + " courses from " + filePath;
+        System.out.printf("CatalogReloader: %s in %.1f ms%n", result.message, result.millis);
+        return result;
+    }
+
+    /**
+     * Starts a daemon thread that reloads the catalog whenever its file is created or modified.
+     *
+     * @throws IOException If the file's directory cannot be watched.
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        Path file = Paths.get(filePath).toAbsolutePath();
+        Path directory = file.getParent();
+        WatchService service = FileSystems.getDefault().newWatchService();
+        directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchService = service;
+
+        Thread watcher = new Thread(() -> watch(service, directory, file.getFileName()), "catalog-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        System.out.println("CatalogReloader: watching " + file + " for changes");
+    }
+
+    private void watch(WatchService service, Path directory, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (!changed) {
+                    continue;
+                }
+
+                // Let the writer finish, then drop the events it caused meanwhile
+                Thread.sleep(SETTLE_MILLIS);
+                WatchKey pending;
+                while ((pending = service.poll()) != null) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+                System.out.println("CatalogReloader: " + directory.resolve(fileName) + " changed, reloading");
+                reloadAsync();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Stops watching the catalog file. Reloads already scheduled still complete.
+     */
+    public synchronized void stopWatching() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("CatalogReloader: error closing watch service: " + e.getMessage());
+        }
+        watchService = null;
+    }
+}
@@ -0,0 +1,280 @@
+package newSite.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * Compact binary copy of a parsed catalog, stored next to the JSON file as {@code <file>.snapshot}.
+ * <p>
+ * The first start parses the JSON with {@link CatalogLoader} and writes the snapshot; later starts
+ * read the snapshot in one go and rebuild the courses from it without touching the JSON parser. The
+ * snapshot records the CRC32 and length of the JSON it was made from and is ignored (and rewritten)
+ * as soon as the JSON changes. Neither file is memory-mapped: a mapping stays open until the GC
+ * releases it, and on Windows an open mapping makes replacing the file (a reload, or moving a new
+ * snapshot into place) fail.
+ * <p>
+ * Layout (big-endian): magic, version, source CRC32, source length, string table (count, then
+ * length-prefixed UTF-8 strings, each distinct string once), course count, then one fixed-size
+ * record per course whose text fields are indexes into the string table (-1 for null), followed by
+ * the course's meetings (count, then day, start and end of each).
+ */
+public class CatalogSnapshot {
+
+    private static final int MAGIC = 0x534D4353; // "SMCS"
+    private static final int VERSION = 3; // 2: meetings, 3: seats
+    private static final String SUFFIX = ".snapshot";
+
+    private CatalogSnapshot() {
+    }
+
+    /**
+     * Loads a catalog, from its snapshot when one matches the JSON file, otherwise from the JSON
+     * (writing a fresh snapshot for next time). If the JSON cannot be read to the end, the courses
+     * before the error are returned and no snapshot is written.
+     *
+     * @param jsonPath Path to the catalog JSON file.
+     * @return The courses.
+     */
+    public static Set<Course> load(String jsonPath) {
+        try {
+            return load(jsonPath, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Only thrown when loading strictly
+        }
+    }
+
+    /**
+     * Same as {@link #load(String)}, for replacing a catalog that is already in use: a JSON file that
+     * cannot be read to the end (e.g. one still being copied) is an error instead of a partial catalog.
+     *
+     * @param jsonPath Path to the catalog JSON file.
+     * @return The courses.
+     * @throws IOException If the JSON file is missing, unreadable or incomplete.
+     */
+    public static Set<Course> loadComplete(String jsonPath) throws IOException {
+        return load(jsonPath, true);
+    }
+
+    private static Set<Course> load(String jsonPath, boolean strict) throws IOException {
+        Path source = Paths.get(jsonPath);
+        Path snapshot = Paths.get(jsonPath + SUFFIX);
+        long start = System.nanoTime();
+
+        long crc;
+        long length;
+        try {
+            length = Files.size(source);
+            crc = checksum(source);
+        } catch (IOException e) {
+            if (strict) {
+                throw e;
+            }
+            // No readable JSON: let the loader report the problem
+            return new CatalogLoader().load(jsonPath);
+        }
+
+        if (Files.exists(snapshot)) {
+            try {
+                Set<Course> courses = read(snapshot, crc, length);
+                if (courses != null) {
+                    System.out.printf("CatalogSnapshot: loaded %d courses from %s in %.1f ms%n",
+                            courses.size(), snapshot, (System.nanoTime() - start) / 1e6);
+                    return courses;
+                }
+                System.out.println("CatalogSnapshot: " + snapshot + " is out of date, re-reading " + jsonPath);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("CatalogSnapshot: ignoring unreadable snapshot " + snapshot + ": " + e.getMessage());
+            }
+        }
+
+        CatalogLoader loader = new CatalogLoader();
+        Set<Course> courses = loader.load(jsonPath);
+        if (loader.getFailure() != null) {
+            if (strict) {
+                throw new IOException("the file could not be read to the end (" + loader.getFailure() + ")");
+            }
+            return courses; // A snapshot of a partial catalog would outlive the problem
+        }
+        if (!courses.isEmpty()) {
+            try {
+                write(snapshot, courses, crc, length);
+            } catch (IOException e) {
+                // Not fatal: the next start just parses the JSON again
+                System.err.println("CatalogSnapshot: could not write " + snapshot + ": " + e.getMessage());
+            }
+        }
+        return courses;
+    }
+
+    /**
+     * @return The CRC32 of a file, computed while streaming through it.
+     */
+    static long checksum(Path file) throws IOException {
+        try (CheckedInputStream in = new CheckedInputStream(Files.newInputStream(file), new CRC32())) {
+            byte[] chunk = new byte[64 * 1024];
+            while (in.read(chunk) >= 0) {
+                // The checksum is updated as the bytes go by
+            }
+            return in.getChecksum().getValue();
+        }
+    }
+
+    /**
+     * Writes a snapshot. The file is written under a temporary name and moved into place, so a
+     * concurrently starting JVM never maps a half-written snapshot.
+     */
+    static void write(Path snapshot, Set<Course> courses, long sourceCrc, long sourceLength) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Course course : courses) {
+            intern(ids, strings, course.name);
+            intern(ids, strings, course.days);
+            intern(ids, strings, course.professor != null ? course.professor.name : null);
+            intern(ids, strings, course.location);
+            intern(ids, strings, course.semester);
+            intern(ids, strings, course.subject);
+        }
+
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sourceCrc);
+            out.writeLong(sourceLength);
+
+            out.writeInt(strings.size());
+            for (String s : strings) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(courses.size());
+            for (Course course : courses) {
+                out.writeInt(idOf(ids, course.name));
+                out.writeInt(idOf(ids, course.days));
+                out.writeInt(idOf(ids, course.professor != null ? course.professor.name : null));
+                out.writeInt(idOf(ids, course.location));
+                out.writeInt(idOf(ids, course.semester));
+                out.writeInt(idOf(ids, course.subject));
+                out.writeInt(course.courseCode);
+                out.writeChar(course.section);
+                out.writeInt(course.credits);
+                out.writeInt(course.time != null ? course.time.startTime : -1);
+                out.writeInt(course.time != null ? course.time.endTime : -1);
+                out.writeInt(course.openSeats);
+                out.writeInt(course.totalSeats);
+                List<Meeting> meetings = course.meetings != null ? course.meetings : new ArrayList<>();
+                out.writeInt(meetings.size());
+                for (Meeting meeting : meetings) {
+                    out.writeChar(meeting.day);
+                    out.writeInt(meeting.startTime);
+                    out.writeInt(meeting.endTime);
+                }
+            }
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void intern(Map<String, Integer> ids, List<String> strings, String value) {
+        if (value != null && !ids.containsKey(value)) {
+            ids.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+
+    private static int idOf(Map<String, Integer> ids, String value) {
+        return value == null ? -1 : ids.get(value);
+    }
+
+    /**
+     * Reads a snapshot. The whole file is copied into a heap buffer and the channel closed before
+     * anything is decoded, so no handle or mapping on the file outlives this call.
+     *
+     * @return The courses, or null if the snapshot was made from a different source file or by
+     *         another version of this class.
+     */
+    static Set<Course> read(Path snapshot, long sourceCrc, long sourceLength) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full
+            }
+            buffer.flip();
+        }
+        if (buffer.remaining() < 24 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION ||
+                buffer.getLong() != sourceCrc || buffer.getLong() != sourceLength) {
+            return null;
+        }
+
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(buffer);
+        }
+
+        // The string table is already de-duplicated; share the objects built from it as well
+        CatalogInterner interner = new CatalogInterner();
+        int count = buffer.getInt();
+        Set<Course> courses = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String name = stringAt(strings, buffer.getInt());
+            String days = stringAt(strings, buffer.getInt());
+            String professorName = stringAt(strings, buffer.getInt());
+            String location = stringAt(strings, buffer.getInt());
+            String semester = stringAt(strings, buffer.getInt());
+            String subject = stringAt(strings, buffer.getInt());
+            int courseCode = buffer.getInt();
+            char section = buffer.getChar();
+            int credits = buffer.getInt();
+            int startTime = buffer.getInt();
+            int endTime = buffer.getInt();
+            int openSeats = buffer.getInt();
+            int totalSeats = buffer.getInt();
+            int meetingCount = buffer.getInt();
+            List<Meeting> meetings = new ArrayList<>(meetingCount);
+            for (int m = 0; m < meetingCount; m++) {
+                meetings.add(interner.meeting(buffer.getChar(), buffer.getInt(), buffer.getInt()));
+            }
+
+            Professor professor = interner.professor(professorName);
+            TimeSlot time = startTime < 0 ? null : interner.timeSlot(startTime, endTime);
+            Course course = new Course(name, time, days, professor, courseCode, semester, location, section, subject,
+                    credits, interner);
+            course.meetings = meetings;
+            course.openSeats = openSeats;
+            course.totalSeats = totalSeats;
+            courses.add(course);
+        }
+        System.out.println(interner);
+        return courses;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String stringAt(String[] strings, int id) {
+        return id < 0 ? null : strings[id];
+    }
+}
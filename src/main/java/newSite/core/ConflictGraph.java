@@ -0,0 +1,264 @@
+package newSite.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed time conflicts between the sections of a catalog: for every section, the set of
+ * sections of the same semester with a meeting that overlaps one of its own (the rule of
+ * {@link Meeting#overlaps}, so the graph agrees with {@link Event#ConflictsWith}). Sections of
+ * different semesters never conflict. Built once per {@link CourseCatalog}, rows in parallel on the
+ * common pool, and read-only afterwards; "which of these sections clash" questions become bitset
+ * intersections instead of pairwise meeting comparisons.
+ * <p>
+ * Sections are numbered internally by semester, then by earliest meeting start. A section only
+ * conflicts with sections that start around the same time, so in that numbering the bits of a row
+ * sit in a short band; each row is stored as its non-zero 64-bit words only (word index plus word),
+ * which is a few words per section instead of a bitset over the whole catalog.
+ * The public methods take and return ordinals of the {@link SearchIndex} the graph was built from.
+ */
+public final class ConflictGraph {
+
+    private final int size;
+    private final int[] rankOf;    // ordinal -> internal number
+    private final int[] ordinalAt; // internal number -> ordinal
+
+    // Row r (internal numbering) is wordIndex/words[rowStart[r], rowStart[r + 1]), word indexes ascending
+    private final int[] rowStart;
+    private final int[] wordIndex;
+    private final long[] words;
+    private final long edges; // conflicting pairs, each counted once
+
+    private ConflictGraph(int size, int[] rankOf, int[] ordinalAt, int[][] rowIndexes, long[][] rowWords) {
+        this.size = size;
+        this.rankOf = rankOf;
+        this.ordinalAt = ordinalAt;
+        this.rowStart = new int[size + 1];
+        int total = 0;
+        for (int r = 0; r < size; r++) {
+            rowStart[r] = total;
+            total += rowIndexes[r].length;
+        }
+        rowStart[size] = total;
+        this.wordIndex = new int[total];
+        this.words = new long[total];
+        long bits = 0;
+        for (int r = 0; r < size; r++) {
+            System.arraycopy(rowIndexes[r], 0, wordIndex, rowStart[r], rowIndexes[r].length);
+            System.arraycopy(rowWords[r], 0, words, rowStart[r], rowWords[r].length);
+            for (long word : rowWords[r]) {
+                bits += Long.bitCount(word);
+            }
+        }
+        this.edges = bits / 2;
+    }
+
+    /**
+     * Builds the graph for the courses of an index.
+     *
+     * @param columns The columns of the index; ordinals of the graph are ordinals of these columns.
+     * @return The finished graph.
+     */
+    public static ConflictGraph build(CourseColumns columns) {
+        int size = columns.size();
+
+        // Earliest start, latest end and meeting days of each section; no meetings -> never conflicts
+        int[] first = new int[size];
+        int[] last = new int[size];
+        int[] days = new int[size];
+        for (int i = 0; i < size; i++) {
+            first[i] = Integer.MAX_VALUE;
+            last[i] = Integer.MIN_VALUE;
+            for (int m = columns.meetingOffset[i]; m < columns.meetingOffset[i + 1]; m++) {
+                if (columns.meetingDay[m] < 0) continue;
+                first[i] = Math.min(first[i], columns.meetingStart[m]);
+                last[i] = Math.max(last[i], columns.meetingEnd[m]);
+                days[i] |= 1 << columns.meetingDay[m];
+            }
+        }
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int bySemester = Integer.compare(columns.semesterId[a], columns.semesterId[b]);
+            return bySemester != 0 ? bySemester : Integer.compare(first[a], first[b]);
+        });
+        int[] ordinalAt = new int[size];
+        int[] rankOf = new int[size];
+        for (int r = 0; r < size; r++) {
+            ordinalAt[r] = order[r];
+            rankOf[order[r]] = r;
+        }
+
+        // Bounds of the semester block each internal number belongs to (end exclusive)
+        int[] blockStart = new int[size];
+        int[] blockEnd = new int[size];
+        for (int r = 1; r < size; r++) {
+            boolean sameBlock = columns.semesterId[ordinalAt[r]] == columns.semesterId[ordinalAt[r - 1]];
+            blockStart[r] = sameBlock ? blockStart[r - 1] : r;
+        }
+        for (int r = size - 1; r >= 0; r--) {
+            boolean sameBlock = r < size - 1 && blockStart[r + 1] == blockStart[r];
+            blockEnd[r] = sameBlock ? blockEnd[r + 1] : r + 1;
+        }
+
+        // Rows only read the arrays above and each write their own slot, so they are built in parallel
+        int[][] rowIndexes = new int[size][];
+        long[][] rowWords = new long[size][];
+        IntStream.range(0, size).parallel().forEach(r -> {
+            int a = ordinalAt[r];
+            List<Integer> indexes = new ArrayList<>();
+            List<Long> bits = new ArrayList<>();
+            if (days[a] != 0) {
+                // Same semester, sorted by first start: scan forward from the block start until
+                // sections start after this one has ended
+                int currentIndex = -1;
+                long currentWord = 0;
+                for (int s = blockStart[r]; s < blockEnd[r] && first[ordinalAt[s]] < last[a]; s++) {
+                    int b = ordinalAt[s];
+                    if (s == r || (days[a] & days[b]) == 0 || last[b] <= first[a] || !overlaps(columns, a, b)) {
+                        continue;
+                    }
+                    if (s >>> 6 != currentIndex) {
+                        if (currentIndex >= 0) {
+                            indexes.add(currentIndex);
+                            bits.add(currentWord);
+                        }
+                        currentIndex = s >>> 6;
+                        currentWord = 0;
+                    }
+                    currentWord |= 1L << s;
+                }
+                if (currentIndex >= 0) {
+                    indexes.add(currentIndex);
+                    bits.add(currentWord);
+                }
+            }
+            rowIndexes[r] = new int[indexes.size()];
+            rowWords[r] = new long[bits.size()];
+            for (int i = 0; i < rowIndexes[r].length; i++) {
+                rowIndexes[r][i] = indexes.get(i);
+                rowWords[r][i] = bits.get(i);
+            }
+        });
+        return new ConflictGraph(size, rankOf, ordinalAt, rowIndexes, rowWords);
+    }
+
+    private static boolean overlaps(CourseColumns columns, int a, int b) {
+        for (int m = columns.meetingOffset[a]; m < columns.meetingOffset[a + 1]; m++) {
+            for (int n = columns.meetingOffset[b]; n < columns.meetingOffset[b + 1]; n++) {
+                if (columns.meetingDay[m] >= 0 && columns.meetingDay[m] == columns.meetingDay[n] &&
+                        columns.meetingStart[m] < columns.meetingEnd[n] && columns.meetingEnd[m] > columns.meetingStart[n]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** @return The number of sections in the graph. */
+    public int size() {
+        return size;
+    }
+
+    /** @return The number of conflicting pairs of sections. */
+    public long edgeCount() {
+        return edges;
+    }
+
+    /**
+     * @return True if the two sections conflict. A section does not conflict with itself.
+     */
+    public boolean conflicts(int a, int b) {
+        int r = rankOf[a];
+        int s = rankOf[b];
+        int found = Arrays.binarySearch(wordIndex, rowStart[r], rowStart[r + 1], s >>> 6);
+        return found >= 0 && (words[found] & (1L << s)) != 0;
+    }
+
+    /**
+     * @return The ordinals of every section conflicting with the given one.
+     */
+    public BitSet conflictsOf(int ordinal) {
+        BitSet result = new BitSet(size);
+        int r = rankOf[ordinal];
+        for (int w = rowStart[r]; w < rowStart[r + 1]; w++) {
+            addRanks(result, wordIndex[w], words[w]);
+        }
+        return result;
+    }
+
+    /**
+     * Finds every section conflicting with at least one of the given sections, e.g. the sections
+     * that clash with anything already on a schedule.
+     *
+     * @param ordinals The sections.
+     * @return The ordinals of the conflicting sections (which may include some of the given ones).
+     */
+    public BitSet conflictsWithAny(BitSet ordinals) {
+        long[] union = new long[(size + 63) >>> 6];
+        for (int a = ordinals.nextSetBit(0); a >= 0 && a < size; a = ordinals.nextSetBit(a + 1)) {
+            int r = rankOf[a];
+            for (int w = rowStart[r]; w < rowStart[r + 1]; w++) {
+                union[wordIndex[w]] |= words[w];
+            }
+        }
+        BitSet result = new BitSet(size);
+        for (int i = 0; i < union.length; i++) {
+            if (union[i] != 0) addRanks(result, i, union[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the conflicting pairs within a set of sections, e.g. one page of search results.
+     * Each row is intersected with the set, so the cost is the size of the rows rather than the
+     * number of pairs.
+     *
+     * @param ordinals The sections.
+     * @return Each conflicting pair once, as {lower ordinal, higher ordinal}, ordered by the lower one.
+     */
+    public List<int[]> conflictingPairs(BitSet ordinals) {
+        long[] members = new long[(size + 63) >>> 6];
+        for (int a = ordinals.nextSetBit(0); a >= 0 && a < size; a = ordinals.nextSetBit(a + 1)) {
+            int r = rankOf[a];
+            members[r >>> 6] |= 1L << r;
+        }
+        List<int[]> pairs = new ArrayList<>();
+        for (int a = ordinals.nextSetBit(0); a >= 0 && a < size; a = ordinals.nextSetBit(a + 1)) {
+            int r = rankOf[a];
+            for (int w = rowStart[r]; w < rowStart[r + 1]; w++) {
+                long common = words[w] & members[wordIndex[w]];
+                while (common != 0) {
+                    int b = ordinalAt[(wordIndex[w] << 6) + Long.numberOfTrailingZeros(common)];
+                    if (a < b) pairs.add(new int[]{a, b});
+                    common &= common - 1;
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private void addRanks(BitSet result, int index, long word) {
+        while (word != 0) {
+            result.set(ordinalAt[(index << 6) + Long.numberOfTrailingZeros(word)]);
+            word &= word - 1;
+        }
+    }
+
+    /** @return Approximate heap used by the graph, in bytes. */
+    public long sizeInBytes() {
+        return 4L * (rankOf.length + ordinalAt.length + rowStart.length + wordIndex.length) + 8L * words.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConflictGraph: %d sections, %d conflicting pairs, %d words, ~%.1f KB",
+                size, edges, words.length, sizeInBytes() / 1024.0);
+    }
+}
@@ -1,4 +1,5 @@
 package newSite.core;
+import java.util.List;
 import java.util.Objects;
 
 public class Course extends Event {
@@ -13,9 +14,26 @@ public class Course extends Event {
     public char section; // Use char for single section letter
     public String subject;
     public int credits;
+    // Every meeting from the catalog; courses can meet at different times on different days.
+    // Null for courses saved before meetings were recorded, which fall back to days + time.
+    public List<Meeting> meetings;
+    public int openSeats;
+    public int totalSeats;
+
+    // Lowercase, tokenized copies of the searchable fields (see SearchFields). Transient so they are not sent as JSON.
+    transient SearchFields searchFields;
 
     Course(String name, TimeSlot time, String days, Professor professor, int coursecode, String semester,
            String location, char section, String subject, int credits){
+        this(name, time, days, professor, coursecode, semester, location, section, subject, credits, null);
+    }
+
+    /**
+     * Used by the catalog loaders: the interner shares the course's derived search text with
+     * other sections (the other arguments are expected to be interned by the caller already).
+     */
+    Course(String name, TimeSlot time, String days, Professor professor, int coursecode, String semester,
+           String location, char section, String subject, int credits, CatalogInterner interner){
         // Call the Event constructor - NOTE: Ensure Event's constructor and fields are appropriate
         super(name, days, time);
         this.professor = professor;
@@ -25,6 +43,25 @@ public class Course extends Event {
         this.section = section;
         this.subject = subject;
         this.credits = credits;
+        this.searchFields = new SearchFields(this, interner);
+    }
+
+    /**
+     * @return The normalized search text of this course.
+     */
+    public SearchFields getSearchFields() {
+        SearchFields fields = searchFields;
+        // Computed by the constructor; courses read back from saved schedules get it on first use
+        if (fields == null) {
+            fields = new SearchFields(this);
+            searchFields = fields;
+        }
+        return fields;
+    }
+
+    @Override
+    List<Meeting> buildMeetings(int dayMask) {
+        return (meetings != null && !meetings.isEmpty()) ? meetings : super.buildMeetings(dayMask);
     }
 
     @Override
@@ -54,10 +91,12 @@ public class Course extends Event {
 
         Course course = (Course) o;
 
-        // Consider two courses equal if subject, courseCode, and section match
+        // A section is identified by subject, courseCode, section and semester: the same section
+        // letter is reused every term, so without the semester one term's sections replace another's
         return courseCode == course.courseCode &&
                 section == course.section && // char comparison
-                Objects.equals(subject, course.subject); // Use Objects.equals for null safety
+                Objects.equals(subject, course.subject) && // Use Objects.equals for null safety
+                Objects.equals(semester, course.semester);
     }
 
     @Override
@@ -69,7 +108,7 @@ public class Course extends Event {
         // return result;
 
         // For now, hash code based only on Course fields used in equals:
-        return Objects.hash(subject, courseCode, section);
+        return Objects.hash(subject, courseCode, section, semester);
     }
     // --- END Added equals() and hashCode() ---
 }
@@ -0,0 +1,283 @@
+package newSite.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The course catalog as seen by {@link Search}: one {@link SearchIndex} over every course plus one
+ * per semester, so a query for a single term only touches that term's sections.
+ * It is also the lookup service used by the controllers: sections are found through hash indexes
+ * by (subject, code, section[, semester]) and by course code instead of scanning the course database,
+ * and time conflicts between sections are answered from a precomputed {@link ConflictGraph}.
+ * A catalog is built once per course database and is read-only afterwards.
+ */
+public class CourseCatalog {
+
+    private final SearchIndex allCourses;
+    private final Map<String, SearchIndex> bySemester; // lowercase semester -> index of its courses
+    private final List<String> semesters; // semester names as they appear in the data, oldest first
+    private final CourseKeyIndex keys; // (subject, code, section, semester) -> ordinal in allCourses
+    private final Map<Integer, int[]> sectionsByCode; // course code -> ordinals in allCourses
+    private final ConflictGraph conflicts; // over ordinals in allCourses
+
+    // The collection this catalog was built from, used to detect a stale catalog
+    private final Collection<Course> source;
+    private final int sourceSize;
+
+    // Time spent building the lookup indexes, in nanoseconds
+    private long keysNanos;
+    private long conflictsNanos;
+
+    private CourseCatalog(Collection<Course> source, SearchIndex allCourses,
+                          Map<String, SearchIndex> bySemester, List<String> semesters) {
+        this.source = source;
+        this.sourceSize = source.size();
+        this.allCourses = allCourses;
+        this.bySemester = bySemester;
+        this.semesters = semesters;
+        long start = System.nanoTime();
+        ForkJoinTask<ConflictGraph> conflictTask = ForkJoinTask.adapt(() -> {
+            long graphStart = System.nanoTime();
+            ConflictGraph graph = ConflictGraph.build(allCourses.columns());
+            conflictsNanos = System.nanoTime() - graphStart;
+            return graph;
+        }).fork();
+        ForkJoinTask<CourseKeyIndex> keyTask = ForkJoinTask.adapt(() -> new CourseKeyIndex(allCourses.courses)).fork();
+        this.sectionsByCode = indexByCode(allCourses.courses);
+        this.keys = keyTask.join();
+        this.keysNanos = System.nanoTime() - start;
+        this.conflicts = conflictTask.join();
+    }
+
+    private static Map<Integer, int[]> indexByCode(Course[] courses) {
+        Map<Integer, List<Integer>> building = new HashMap<>();
+        for (int ordinal = 0; ordinal < courses.length; ordinal++) {
+            if (courses[ordinal] != null) {
+                building.computeIfAbsent(courses[ordinal].courseCode, k -> new ArrayList<>()).add(ordinal);
+            }
+        }
+        Map<Integer, int[]> byCode = new HashMap<>();
+        for (Map.Entry<Integer, List<Integer>> entry : building.entrySet()) {
+            int[] ordinals = new int[entry.getValue().size()];
+            for (int i = 0; i < ordinals.length; i++) {
+                ordinals[i] = entry.getValue().get(i);
+            }
+            byCode.put(entry.getKey(), ordinals);
+        }
+        return byCode;
+    }
+
+    /**
+     * Builds the catalog for a course database: the full index and one index per semester.
+     * The indexes are independent, so they are built in parallel on the common {@link ForkJoinPool};
+     * the time of each build stage is reported once they are done.
+     *
+     * @param courseDatabase The courses of the catalog.
+     * @return The finished catalog.
+     */
+    public static CourseCatalog build(Collection<Course> courseDatabase) {
+        long start = System.nanoTime();
+
+        // Group by semester, keeping the spelling of the first course seen for each one
+        Map<String, List<Course>> partitions = new LinkedHashMap<>();
+        Map<String, String> names = new HashMap<>();
+        for (Course course : courseDatabase) {
+            if (course == null || course.semester == null) continue;
+            String key = course.getSearchFields().semester;
+            partitions.computeIfAbsent(key, k -> new ArrayList<>()).add(course);
+            names.putIfAbsent(key, course.semester);
+        }
+
+        Map<String, ForkJoinTask<SearchIndex>> building = new HashMap<>();
+        for (Map.Entry<String, List<Course>> partition : partitions.entrySet()) {
+            List<Course> courses = partition.getValue();
+            building.put(partition.getKey(), ForkJoinTask.adapt(() -> SearchIndex.build(courses)).fork());
+        }
+        SearchIndex all = SearchIndex.build(courseDatabase);
+        Map<String, SearchIndex> bySemester = new HashMap<>();
+        for (Map.Entry<String, ForkJoinTask<SearchIndex>> task : building.entrySet()) {
+            bySemester.put(task.getKey(), task.getValue().join());
+        }
+        List<String> semesters = new ArrayList<>(names.values());
+        semesters.sort(SEMESTER_ORDER);
+
+        CourseCatalog catalog = new CourseCatalog(courseDatabase, all, bySemester,
+                Collections.unmodifiableList(semesters));
+        catalog.report(System.nanoTime() - start);
+        return catalog;
+    }
+
+    /**
+     * Prints how long each build stage took. Stage times are summed over the full and semester
+     * indexes; as the stages run in parallel the total is usually well below their sum.
+     */
+    private void report(long totalNanos) {
+        long tokens = allCourses.tokenNanos;
+        long dayTime = allCourses.dayTimeNanos;
+        long suggest = allCourses.suggestNanos;
+        for (SearchIndex index : bySemester.values()) {
+            tokens += index.tokenNanos;
+            dayTime += index.dayTimeNanos;
+            suggest += index.suggestNanos;
+        }
+        System.out.printf("CourseCatalog: built %d courses, %d semester indexes in %.1f ms " +
+                        "[tokens %.1f ms, days/times %.1f ms, suggestions %.1f ms, keys %.1f ms, conflicts %.1f ms]%n",
+                size(), bySemester.size(), totalNanos / 1e6, tokens / 1e6, dayTime / 1e6, suggest / 1e6,
+                keysNanos / 1e6, conflictsNanos / 1e6);
+        System.out.println(conflicts);
+    }
+
+    /**
+     * Chronological order of semester names such as "2023_Fall" or "2024_Early_Summer":
+     * by year, then by term within the year. Names that do not follow the pattern sort last.
+     */
+    static final Comparator<String> SEMESTER_ORDER = Comparator
+            .comparingInt(CourseCatalog::semesterYear)
+            .thenComparingInt(CourseCatalog::termRank)
+            .thenComparing(Comparator.naturalOrder());
+
+    private static int semesterYear(String semester) {
+        int end = semester.indexOf('_');
+        try {
+            return Integer.parseInt(end < 0 ? semester : semester.substring(0, end));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static int termRank(String semester) {
+        String term = semester.toLowerCase();
+        if (term.contains("winter")) return 0;
+        if (term.contains("spring")) return 1;
+        if (term.contains("early_summer")) return 2;
+        if (term.contains("late_summer")) return 4;
+        if (term.contains("summer")) return 3;
+        if (term.contains("fall")) return 5;
+        return 6;
+    }
+
+    /**
+     * Checks whether this catalog was built from the given course set and is still in step with it.
+     * Code that mutates {@code Search.courseDatabase} directly changes its size, which makes the
+     * catalog stale and forces a rebuild.
+     *
+     * @param courseDatabase The course set currently used by the search.
+     * @return True if the catalog can answer queries for that set.
+     */
+    public boolean covers(Set<Course> courseDatabase) {
+        return courseDatabase == source && courseDatabase.size() == sourceSize;
+    }
+
+    /** @return The index over every course in the catalog. */
+    public SearchIndex allCourses() {
+        return allCourses;
+    }
+
+    /**
+     * @param semester A semester name such as "2025_Spring" (case-insensitive).
+     * @return The index over that semester's courses, or null if the catalog has no such semester.
+     */
+    public SearchIndex semester(String semester) {
+        return semester == null ? null : bySemester.get(semester.trim().toLowerCase());
+    }
+
+    /**
+     * @param semester A semester name, or null (or blank) for the whole catalog.
+     * @return The index a query for that semester should use, or null if the semester is unknown.
+     */
+    public SearchIndex indexFor(String semester) {
+        return (semester == null || semester.trim().isEmpty()) ? allCourses : semester(semester);
+    }
+
+    /**
+     * Finds a single section in O(1) through its packed key.
+     *
+     * @param subject    The subject, e.g. "COMP" (case-insensitive).
+     * @param courseCode The course number, e.g. 350.
+     * @param section    The section letter.
+     * @param semester   The semester, e.g. "2025_Spring" (case-insensitive), or null for the latest
+     *                   semester offering that section.
+     * @return The section, or null if the catalog has no such section.
+     */
+    public Course find(String subject, int courseCode, char section, String semester) {
+        int ordinal = ordinalOf(subject, courseCode, section, semester);
+        return ordinal < 0 ? null : allCourses.course(ordinal);
+    }
+
+    /**
+     * Finds the most recent offering of a section: one key lookup per semester, newest first.
+     *
+     * @return The section in the latest semester that has it, or null if no semester does.
+     */
+    public Course findLatest(String subject, int courseCode, char section) {
+        return find(subject, courseCode, section, null);
+    }
+
+    /**
+     * Same lookup as {@link #find}, for callers working with ordinals (e.g. the {@link ConflictGraph}).
+     *
+     * @return The ordinal of the section in {@link #allCourses()}, or -1 if the catalog has no such section.
+     */
+    public int ordinalOf(String subject, int courseCode, char section, String semester) {
+        if (semester != null && !semester.trim().isEmpty()) {
+            return keys.find(subject, courseCode, section, semester.trim());
+        }
+        for (int i = semesters.size() - 1; i >= 0; i--) {
+            int ordinal = keys.find(subject, courseCode, section, semesters.get(i));
+            if (ordinal >= 0) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param courseCode A course number, e.g. 350.
+     * @return Every section in the catalog with that number, across subjects and semesters.
+     */
+    public List<Course> sectionsWithCode(int courseCode) {
+        int[] ordinals = sectionsByCode.get(courseCode);
+        if (ordinals == null) {
+            return Collections.emptyList();
+        }
+        List<Course> sections = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            sections.add(allCourses.course(ordinal));
+        }
+        return sections;
+    }
+
+    /** @return The most recent semester in the catalog, or null if it is empty. */
+    public String latestSemester() {
+        return semesters.isEmpty() ? null : semesters.get(semesters.size() - 1);
+    }
+
+    /** @return The time conflicts between sections, over ordinals of {@link #allCourses()}. */
+    public ConflictGraph conflicts() {
+        return conflicts;
+    }
+
+    /** @return The key index over every section in the catalog. */
+    public CourseKeyIndex keys() {
+        return keys;
+    }
+
+    /** @return The semesters in the catalog, oldest first. */
+    public List<String> getSemesters() {
+        return semesters;
+    }
+
+    /** @return The number of courses in the catalog. */
+    public int size() {
+        return allCourses.size();
+    }
+}
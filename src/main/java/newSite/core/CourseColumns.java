@@ -0,0 +1,213 @@
+package newSite.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Column-oriented copy of the courses of a {@link SearchIndex}: one primitive array per field,
+ * indexed by course ordinal, with subjects and semesters dictionary-encoded as small ids.
+ * Filtering, ranking and conflict checks read these arrays sequentially instead of following
+ * pointers from {@link Course} to its strings and {@link TimeSlot}, and the {@link Course} objects
+ * are only touched for the results that end up in a response.
+ * <p>
+ * Dictionary ids are assigned in sorted string order, so comparing two ids orders the courses the
+ * same way as comparing the strings. A missing string has id -1, which sorts first.
+ * The columns are read-only once built.
+ */
+public final class CourseColumns {
+
+    /** Value of {@link #start} and {@link #end} for a course without a time slot. */
+    public static final int NO_TIME = -1;
+
+    private final int size;
+
+    // ordinal -> field
+    final int[] subjectId;
+    final int[] code;
+    final char[] section;
+    final int[] credits;
+    final int[] start;     // seconds from midnight of the primary time slot, NO_TIME if none
+    final int[] end;
+    final int[] dayMask;   // DayMask bitmask
+    final int[] semesterId;
+    final int[] openSeats;
+    final int[] totalSeats;
+
+    // Every meeting of every course, grouped by ordinal: those of ordinal i are at
+    // [meetingOffset[i], meetingOffset[i + 1])
+    final int[] meetingOffset;
+    final byte[] meetingDay;   // index in DayMask.DAY_LETTERS, -1 for an unknown day
+    final int[] meetingStart;
+    final int[] meetingEnd;
+
+    private final String[] subjects;  // id -> subject
+    private final String[] semesters; // id -> semester
+
+    /**
+     * Builds the columns for the courses of an index.
+     *
+     * @param courses The courses, indexed by ordinal. Null entries get empty values.
+     */
+    CourseColumns(Course[] courses) {
+        size = courses.length;
+        subjects = dictionary(courses, true);
+        semesters = dictionary(courses, false);
+
+        subjectId = new int[size];
+        code = new int[size];
+        section = new char[size];
+        credits = new int[size];
+        start = new int[size];
+        end = new int[size];
+        dayMask = new int[size];
+        semesterId = new int[size];
+        openSeats = new int[size];
+        totalSeats = new int[size];
+        meetingOffset = new int[size + 1];
+
+        int meetingCount = 0;
+        for (Course course : courses) {
+            if (course != null) meetingCount += course.getMeetings().size();
+        }
+        meetingDay = new byte[meetingCount];
+        meetingStart = new int[meetingCount];
+        meetingEnd = new int[meetingCount];
+
+        int m = 0;
+        for (int i = 0; i < size; i++) {
+            meetingOffset[i] = m;
+            Course course = courses[i];
+            if (course == null) {
+                subjectId[i] = -1;
+                semesterId[i] = -1;
+                start[i] = NO_TIME;
+                end[i] = NO_TIME;
+                continue;
+            }
+            subjectId[i] = idOf(subjects, course.subject);
+            code[i] = course.courseCode;
+            section[i] = course.section;
+            credits[i] = course.credits;
+            start[i] = course.time != null ? course.time.startTime : NO_TIME;
+            end[i] = course.time != null ? course.time.endTime : NO_TIME;
+            dayMask[i] = course.getDayMask();
+            semesterId[i] = idOf(semesters, course.semester);
+            openSeats[i] = course.openSeats;
+            totalSeats[i] = course.totalSeats;
+            for (Meeting meeting : course.getMeetings()) {
+                meetingDay[m] = (byte) DayMask.DAY_LETTERS.indexOf(meeting.day);
+                meetingStart[m] = meeting.startTime;
+                meetingEnd[m] = meeting.endTime;
+                m++;
+            }
+        }
+        meetingOffset[size] = m;
+    }
+
+    private static String[] dictionary(Course[] courses, boolean subject) {
+        TreeSet<String> values = new TreeSet<>();
+        for (Course course : courses) {
+            String value = course == null ? null : (subject ? course.subject : course.semester);
+            if (value != null) values.add(value);
+        }
+        return values.toArray(new String[0]);
+    }
+
+    private static int idOf(String[] dictionary, String value) {
+        return value == null ? -1 : Arrays.binarySearch(dictionary, value);
+    }
+
+    /** @return The number of courses. */
+    public int size() {
+        return size;
+    }
+
+    /** @return The subject with the given id, or null for -1. */
+    public String subject(int id) {
+        return id < 0 ? null : subjects[id];
+    }
+
+    /** @return The semester with the given id, or null for -1. */
+    public String semester(int id) {
+        return id < 0 ? null : semesters[id];
+    }
+
+    public int subjectId(int ordinal) {
+        return subjectId[ordinal];
+    }
+
+    public int code(int ordinal) {
+        return code[ordinal];
+    }
+
+    public char section(int ordinal) {
+        return section[ordinal];
+    }
+
+    public int credits(int ordinal) {
+        return credits[ordinal];
+    }
+
+    public int start(int ordinal) {
+        return start[ordinal];
+    }
+
+    public int end(int ordinal) {
+        return end[ordinal];
+    }
+
+    public int dayMask(int ordinal) {
+        return dayMask[ordinal];
+    }
+
+    public int semesterId(int ordinal) {
+        return semesterId[ordinal];
+    }
+
+    public int openSeats(int ordinal) {
+        return openSeats[ordinal];
+    }
+
+    public int totalSeats(int ordinal) {
+        return totalSeats[ordinal];
+    }
+
+    /**
+     * Orders two courses by subject, course code, section and semester, the stable tie-break used
+     * when ranking search results.
+     */
+    public int compareIdentity(int a, int b) {
+        int bySubject = Integer.compare(subjectId[a], subjectId[b]);
+        if (bySubject != 0) return bySubject;
+        int byCode = Integer.compare(code[a], code[b]);
+        if (byCode != 0) return byCode;
+        int bySection = Character.compare(section[a], section[b]);
+        if (bySection != 0) return bySection;
+        return Integer.compare(semesterId[a], semesterId[b]);
+    }
+
+    /**
+     * Checks a course against the slots of a week, e.g. everything already on a schedule.
+     * The occupancy rules out most courses; a possible overlap is confirmed against the meetings.
+     *
+     * @param ordinal   The course.
+     * @param occupancy The occupied slots of the other events.
+     * @param meetings  The meetings of the other events, to confirm a possible overlap.
+     * @return True if one of the course's meetings overlaps one of the given meetings.
+     */
+    public boolean conflictsWith(int ordinal, WeeklyOccupancy occupancy, List<Meeting> meetings) {
+        for (int m = meetingOffset[ordinal]; m < meetingOffset[ordinal + 1]; m++) {
+            if (!occupancy.overlaps(meetingDay[m], meetingStart[m], meetingEnd[m])) {
+                continue;
+            }
+            char day = DayMask.DAY_LETTERS.charAt(meetingDay[m]);
+            for (Meeting other : meetings) {
+                if (other.day == day && meetingStart[m] < other.endTime && meetingEnd[m] > other.startTime) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,155 @@
+package newSite.core;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Identity of a course section in the catalog, packed into a single {@code long}:
+ * subject id (16 bits) | course code (20 bits) | section (16 bits) | semester id (12 bits).
+ * Subject and semester ids come from small case-insensitive dictionaries built with the catalog
+ * (compared in place, never lowercased), and the keys map to course ordinals through an
+ * open-addressing table of primitive arrays, so a lookup never boxes or allocates.
+ */
+public class CourseKeyIndex {
+
+    private static final int SUBJECT_BITS = 16;
+    private static final int CODE_BITS = 20;
+    private static final int SECTION_BITS = 16;
+    private static final int SEMESTER_BITS = 12;
+
+    private static final long EMPTY = -1L; // never a valid key: the subject id would be 0xFFFF
+
+    // A few hundred entries at most; a tree lets lookups ignore case without building a lowercase copy
+    private final Map<String, Integer> subjectIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);  // subject -> id
+    private final Map<String, Integer> semesterIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER); // semester -> id
+
+    // Open addressing with linear probing; slots[i] == EMPTY marks a free slot
+    private final long[] slots;
+    private final int[] ordinals;
+    private final int mask;
+    private int size;
+
+    /**
+     * Builds the key index for the courses of a search index.
+     *
+     * @param courses The courses, indexed by ordinal. Null entries are skipped.
+     */
+    CourseKeyIndex(Course[] courses) {
+        int capacity = Integer.highestOneBit(Math.max(4, courses.length * 2 - 1)) << 1; // load factor <= 0.5
+        slots = new long[capacity];
+        ordinals = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(slots, EMPTY);
+
+        for (int ordinal = 0; ordinal < courses.length; ordinal++) {
+            Course course = courses[ordinal];
+            if (course == null || course.subject == null || course.semester == null) continue;
+            SearchFields fields = course.getSearchFields();
+            int subjectId = idOf(subjectIds, fields.subject, SUBJECT_BITS);
+            int semesterId = idOf(semesterIds, fields.semester, SEMESTER_BITS);
+            if (subjectId < 0 || semesterId < 0 || !fits(course.courseCode, CODE_BITS)) {
+                System.err.println("CourseKeyIndex: cannot key " + course.subject + " " + course.courseCode);
+                continue;
+            }
+            long key = pack(subjectId, course.courseCode, course.section, semesterId);
+            if (!insert(key, ordinal)) {
+                System.err.println("CourseKeyIndex: duplicate section " + course.subject + " " +
+                        course.courseCode + "-" + course.section + " (" + course.semester + ")");
+            }
+        }
+    }
+
+    private static int idOf(Map<String, Integer> ids, String value, int bits) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            // The all-ones subject id is reserved so that EMPTY can never be a real key
+            if (ids.size() >= (1 << bits) - 1) return -1;
+            id = ids.size();
+            ids.put(value, id);
+        }
+        return id;
+    }
+
+    private static boolean fits(int value, int bits) {
+        return value >= 0 && value < (1 << bits);
+    }
+
+    /**
+     * Packs the parts of a course identity into a key.
+     */
+    static long pack(int subjectId, int courseCode, char section, int semesterId) {
+        return ((long) subjectId << (CODE_BITS + SECTION_BITS + SEMESTER_BITS))
+                | ((long) courseCode << (SECTION_BITS + SEMESTER_BITS))
+                | ((long) section << SEMESTER_BITS)
+                | semesterId;
+    }
+
+    private static int hash(long key) {
+        // Finalizer of MurmurHash3, spreads the packed fields over the low bits
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * @return False if the key was already present (the first ordinal is kept).
+     */
+    private boolean insert(long key, int ordinal) {
+        int slot = hash(key) & mask;
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == key) return false;
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = key;
+        ordinals[slot] = ordinal;
+        size++;
+        return true;
+    }
+
+    /**
+     * Computes the key of a section, without looking it up.
+     *
+     * @return The packed key, or -1 if the subject or semester is not in the catalog.
+     */
+    public long keyOf(String subject, int courseCode, char section, String semester) {
+        if (subject == null || semester == null || !fits(courseCode, CODE_BITS)) return EMPTY;
+        Integer subjectId = subjectIds.get(subject);
+        Integer semesterId = semesterIds.get(semester);
+        if (subjectId == null || semesterId == null) return EMPTY;
+        return pack(subjectId, courseCode, section, semesterId);
+    }
+
+    /**
+     * Finds a section by its packed key.
+     *
+     * @param key A key from {@link #keyOf}.
+     * @return The course ordinal, or -1 if there is no such section.
+     */
+    public int find(long key) {
+        if (key == EMPTY) return -1;
+        int slot = hash(key) & mask;
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == key) return ordinals[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds a section by subject, course code, section letter and semester (subject and semester are case-insensitive).
+     *
+     * @return The course ordinal, or -1 if there is no such section.
+     */
+    public int find(String subject, int courseCode, char section, String semester) {
+        return find(keyOf(subject, courseCode, section, semester));
+    }
+
+    /** @return The number of keyed sections. */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,61 @@
+package newSite.core;
+
+/**
+ * Helpers for storing a set of meeting days as bits of an int.
+ * The day letters are the ones used throughout the catalog: M, T, W, R (Thursday), F,
+ * plus S and U for weekend meetings.
+ */
+public final class DayMask {
+
+    public static final String DAY_LETTERS = "MTWRFSU";
+
+    public static final int MONDAY = 1;
+    public static final int TUESDAY = 1 << 1;
+    public static final int WEDNESDAY = 1 << 2;
+    public static final int THURSDAY = 1 << 3;
+    public static final int FRIDAY = 1 << 4;
+    public static final int SATURDAY = 1 << 5;
+    public static final int SUNDAY = 1 << 6;
+
+    private DayMask() {
+    }
+
+    /**
+     * @param day A day letter such as 'M' or 'R'.
+     * @return The bit for that day, or 0 if the letter is not a day.
+     */
+    public static int bit(char day) {
+        int index = DAY_LETTERS.indexOf(day);
+        return index < 0 ? 0 : 1 << index;
+    }
+
+    /**
+     * Converts a days string such as "MWF" into a bitmask. Unknown characters are ignored.
+     *
+     * @param days The days string, may be null.
+     * @return The bitmask of the days in the string.
+     */
+    public static int parse(String days) {
+        if (days == null) {
+            return 0;
+        }
+        int mask = 0;
+        for (int i = 0; i < days.length(); i++) {
+            mask |= bit(days.charAt(i));
+        }
+        return mask;
+    }
+
+    /**
+     * Converts a bitmask back into a days string in calendar order, e.g. "MWF".
+     */
+    public static String toDays(int mask) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < DAY_LETTERS.length(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                sb.append(DAY_LETTERS.charAt(i));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,10 +1,46 @@
 package newSite.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class Event {
     public String name;
     public String days; // e.g., "MWF"
     public TimeSlot time;
 
+    /**
+     * Everything derived from days and time (or a course's meetings). Immutable, so an event shared
+     * between request threads can swap in a new one without locking; a thread sees either the old
+     * or the new one, never a mix.
+     */
+    private static final class Derived {
+        final String days;   // the days and times this was built from
+        final int startTime;
+        final int endTime;
+        final int dayMask;   // parsed from days
+        final List<Meeting> meetings;
+        final int meetingDayMask; // days that have a meeting
+        final WeeklyOccupancy occupancy;
+
+        Derived(String days, int startTime, int endTime, int dayMask, List<Meeting> meetings) {
+            this.days = days;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.dayMask = dayMask;
+            this.meetings = meetings;
+            int meetingDays = 0;
+            for (Meeting meeting : meetings) {
+                meetingDays |= DayMask.bit(meeting.day);
+            }
+            this.meetingDayMask = meetingDays;
+            this.occupancy = WeeklyOccupancy.of(meetings);
+        }
+    }
+
+    // Cached until days or time change. Transient so the JSON form of an event does not change.
+    private transient Derived derived;
+
 
 
     public Event (String name, String days, TimeSlot time) {
@@ -15,23 +51,87 @@ public class Event {
 
 
 
-    // Check if this event conflicts with another
+    // Check if this event conflicts with another.
+    // Once both events have their masks (built on first use), this allocates nothing.
     public boolean ConflictsWith(Event e) {
-        // Check if the events share a day
-        boolean sameDay = false;
-        for (int i = 0; i < days.length(); i++) {
-            if (e.days.contains(days.substring(i, i + 1))) {
-                sameDay = true;
-                break;
-            }
+        Derived mine = derived();
+        Derived theirs = e.derived();
+
+        // Events on different days never conflict: one AND of the day masks
+        if ((mine.meetingDayMask & theirs.meetingDayMask) == 0) {
+            return false;
         }
-        if (!sameDay) {
+        // Rule out most of the remaining pairs with the slot masks: a handful of ANDs
+        if (!mine.occupancy.intersects(theirs.occupancy)) {
             return false;
         }
 
-        // return check if events overlap for any length of time
-        // (make sure to check for both cases where this event starts first and when the other event starts first)
-        return (time.startTime < e.time.endTime && time.endTime > e.time.startTime);
+        // The masks work in five-minute slots, so confirm against the actual meetings
+        // (overlap for any length of time, whichever event starts first)
+        for (int i = 0; i < mine.meetings.size(); i++) {
+            Meeting meeting = mine.meetings.get(i);
+            for (int j = 0; j < theirs.meetings.size(); j++) {
+                if (meeting.overlaps(theirs.meetings.get(j))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The meeting days as a {@link DayMask} bitmask, kept in step with {@link #days}.
+     */
+    public int getDayMask() {
+        return derived().dayMask;
+    }
+
+    /**
+     * @return Every weekly meeting of this event: one per meeting day at {@link #time}.
+     */
+    public List<Meeting> getMeetings() {
+        return derived().meetings;
+    }
+
+    /**
+     * @return The slots of the week this event occupies.
+     */
+    public WeeklyOccupancy getOccupancy() {
+        return derived().occupancy;
+    }
+
+    /**
+     * Meetings the occupancy is built from. Courses override this with their catalog meetings.
+     *
+     * @param dayMask The parsed {@link #days}.
+     */
+    List<Meeting> buildMeetings(int dayMask) {
+        if (days == null || time == null) {
+            return Collections.emptyList();
+        }
+        List<Meeting> meetings = new ArrayList<>(Integer.bitCount(dayMask));
+        for (int day = 0; day < DayMask.DAY_LETTERS.length(); day++) {
+            if ((dayMask & (1 << day)) != 0) {
+                meetings.add(new Meeting(DayMask.DAY_LETTERS.charAt(day), time.startTime, time.endTime));
+            }
+        }
+        return meetings;
+    }
+
+    private Derived derived() {
+        // days and time are public and may be reassigned, so rebuild when they no longer match the cache
+        Derived current = derived;
+        String currentDays = days;
+        TimeSlot currentTime = time;
+        int start = currentTime != null ? currentTime.startTime : -1;
+        int end = currentTime != null ? currentTime.endTime : -1;
+        if (current != null && current.days == currentDays && current.startTime == start && current.endTime == end) {
+            return current;
+        }
+        int dayMask = DayMask.parse(currentDays);
+        current = new Derived(currentDays, start, end, dayMask, buildMeetings(dayMask));
+        derived = current;
+        return current;
     }
 
 
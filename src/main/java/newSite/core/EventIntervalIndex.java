@@ -0,0 +1,208 @@
+package newSite.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Index of the meetings of a set of events with one interval tree per weekday, used by
+ * {@link Schedule} so that conflict checks and time-window queries take O(log n) (plus the number
+ * of results) instead of comparing against every event.
+ * <p>
+ * Each tree is a treap ordered by meeting start, in which every node also stores the latest end in
+ * its subtree; a query skips any subtree that ends before the window starts, and stops going right
+ * once meetings start after the window ends. Two meetings overlap under the same rule as
+ * {@link Meeting#overlaps}: same day, and each starts before the other ends.
+ * Not thread-safe.
+ */
+class EventIntervalIndex {
+
+    private static final class Node {
+        final int day;       // index in DayMask.DAY_LETTERS
+        final int start;
+        final int end;
+        final long seq;      // insertion order, makes every key unique
+        final int priority;  // random, keeps the treap balanced
+        final Event event;
+        int maxEnd;          // latest end in this subtree
+        Node left;
+        Node right;
+
+        Node(int day, int start, int end, long seq, int priority, Event event) {
+            this.day = day;
+            this.start = start;
+            this.end = end;
+            this.seq = seq;
+            this.priority = priority;
+            this.event = event;
+            this.maxEnd = end;
+        }
+
+        int compareTo(Node other) {
+            if (start != other.start) return Integer.compare(start, other.start);
+            if (end != other.end) return Integer.compare(end, other.end);
+            return Long.compare(seq, other.seq);
+        }
+    }
+
+    private final Node[] roots = new Node[DayMask.DAY_LETTERS.length()];
+    // The nodes of each indexed event. Keyed like Schedule.events (by equals).
+    private final Map<Event, List<Node>> nodesByEvent = new HashMap<>();
+    private final Random random = new Random();
+    private long nextSeq;
+
+    /**
+     * Indexes every meeting of an event. Adding an event that is already indexed does nothing.
+     */
+    void add(Event event) {
+        if (nodesByEvent.containsKey(event)) {
+            return;
+        }
+        List<Meeting> meetings = event.getMeetings();
+        List<Node> nodes = new ArrayList<>(meetings.size());
+        for (Meeting meeting : meetings) {
+            int day = DayMask.DAY_LETTERS.indexOf(meeting.day);
+            if (day < 0) continue;
+            Node node = new Node(day, meeting.startTime, meeting.endTime, nextSeq++, random.nextInt(), event);
+            roots[day] = insert(roots[day], node);
+            nodes.add(node);
+        }
+        nodesByEvent.put(event, nodes);
+    }
+
+    /**
+     * Removes an event (or the indexed event equal to it) from the index.
+     */
+    void remove(Event event) {
+        List<Node> nodes = nodesByEvent.remove(event);
+        if (nodes == null) {
+            return;
+        }
+        for (Node node : nodes) {
+            roots[node.day] = delete(roots[node.day], node);
+        }
+    }
+
+    /** @return The number of indexed events. */
+    int size() {
+        return nodesByEvent.size();
+    }
+
+    /**
+     * @param day       Day index in {@link DayMask#DAY_LETTERS}.
+     * @param startTime Start of the window, in seconds from midnight.
+     * @param endTime   End of the window.
+     * @return An indexed event with a meeting overlapping the window on that day, or null if there is none.
+     */
+    Event firstOverlap(int day, int startTime, int endTime) {
+        if (day < 0 || day >= roots.length) return null;
+        Node node = findOverlap(roots[day], startTime, endTime);
+        return node == null ? null : node.event;
+    }
+
+    /**
+     * Adds every indexed event with a meeting overlapping the window on that day to {@code out}.
+     */
+    void collectOverlaps(int day, int startTime, int endTime, Collection<Event> out) {
+        if (day < 0 || day >= roots.length) return;
+        collect(roots[day], startTime, endTime, out);
+    }
+
+    private static Node findOverlap(Node node, int startTime, int endTime) {
+        while (node != null) {
+            if (node.start < endTime && node.end > startTime) {
+                return node;
+            }
+            // If the left subtree reaches past the window start but has no overlap, its latest-ending
+            // meeting starts after the window ends, and so does everything to the right of it
+            if (node.left != null && node.left.maxEnd > startTime) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    private static void collect(Node node, int startTime, int endTime, Collection<Event> out) {
+        if (node == null || node.maxEnd <= startTime) {
+            return;
+        }
+        collect(node.left, startTime, endTime, out);
+        if (node.start >= endTime) {
+            return;
+        }
+        if (node.end > startTime) {
+            out.add(node.event);
+        }
+        collect(node.right, startTime, endTime, out);
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) root = rotateRight(root);
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) root = rotateLeft(root);
+        }
+        update(root);
+        return root;
+    }
+
+    private static Node delete(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        int cmp = node.compareTo(root);
+        if (cmp < 0) {
+            root.left = delete(root.left, node);
+        } else if (cmp > 0) {
+            root.right = delete(root.right, node);
+        } else {
+            // Rotate the node down until it has at most one child, then splice it out
+            if (root.left == null) return root.right;
+            if (root.right == null) return root.left;
+            if (root.left.priority > root.right.priority) {
+                root = rotateRight(root);
+                root.right = delete(root.right, node);
+            } else {
+                root = rotateLeft(root);
+                root.left = delete(root.left, node);
+            }
+        }
+        update(root);
+        return root;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        int maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) maxEnd = node.left.maxEnd;
+        if (node.right != null && node.right.maxEnd > maxEnd) maxEnd = node.right.maxEnd;
+        node.maxEnd = maxEnd;
+    }
+}
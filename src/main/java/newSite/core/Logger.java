@@ -79,7 +79,6 @@ public class Logger {
         // Create a new empty schedule
         Schedule rebuiltSchedule = new Schedule();
         rebuiltSchedule.name = this.scheduleName;
-        rebuiltSchedule.events = new HashSet<>();
 
         try (BufferedReader reader = new BufferedReader(new FileReader(latestLogFile))) {
             String line;
@@ -87,7 +86,7 @@ public class Logger {
             while ((line = reader.readLine()) != null && !line.startsWith("----"));
 
             while ((line = reader.readLine()) != null) {
-                LogEntry entry = LogEntry.fromString(line, scheduleManager.getCurrentSchedule().events);
+                LogEntry entry = LogEntry.fromString(line, scheduleManager.getCurrentSchedule().getEvents());
                 if (entry != null) {
                     if (entry.getAction().equals("ADD")) {
                         // Use ScheduleManager's addEvent which handles conflicts
@@ -1,131 +1,21 @@
 package newSite.core;
 
-import com.google.gson.Gson;
-
-import java.io.FileReader;
 import java.util.*;
 
 public class Main {
 
     private static Set<Course> courseDatabase;
 
-    // Wrapper class to represent the root JSON object
-    private static class CourseList {
-        List<CourseData> classes; // List of courses in the JSON
-    }
-
-    // Class to represent a single course in the JSON
-    private static class CourseData {
-        int credits;
-        List<String> faculty;
-        boolean is_lab;
-        boolean is_open;
-        String location;
-        String name;
-        int number;
-        int open_seats;
-        String section;
-        String semester;
-        String subject;
-        List<TimeSlotData> times;
-        int total_seats;
-    }
-
-    // Class to represent a time slot in the JSON
-    private static class TimeSlotData {
-        String day;
-        String start_time;
-        String end_time;
-    }
-
     /**
      * Reads the JSON file and converts it into a Set of newSite.core.Course objects.
+     * The file is streamed by {@link CatalogLoader}, which builds each course as it is read; when a
+     * binary snapshot of the same file exists it is loaded from that instead (see {@link CatalogSnapshot}).
      *
      * @param filePath Path to the JSON file.
      * @return A Set of newSite.core.Course objects.
      */
     public static Set<Course> loadCourseDatabase(String filePath) {
-        Set<Course> courseDatabase = new HashSet<>();
-        Gson gson = new Gson();
-
-        // System.out.println("Attempting to load course database from: " + filePath);
-
-        try (FileReader reader = new FileReader(filePath)) {
-            // Step 1: Deserialize the JSON file into a CourseList object
-            // System.out.println("Parsing JSON file...");
-            CourseList courseList = gson.fromJson(reader, CourseList.class);
-
-            if (courseList == null || courseList.classes == null) {
-                // System.out.println("Error: JSON file is empty or malformed.");
-                return courseDatabase;
-            }
-
-            // System.out.println("Found " + courseList.classes.size() + " courses in the JSON file.");
-
-            // Step 2: Loop through each course in the JSON and convert it to a newSite.core.Course object
-            for (CourseData courseData : courseList.classes) {
-                // System.out.println("\nProcessing course: " + courseData.name);
-
-                // Step 3: Create a newSite.core.Professor object (assuming the first faculty member is the primary professor)
-                if (courseData.faculty == null || courseData.faculty.isEmpty()) {
-                    // System.out.println("Warning: No faculty listed for course: " + courseData.name);
-                    continue; // Skip this course if no faculty is listed
-                }
-                Professor professor = new Professor(courseData.faculty.get(0));
-                // System.out.println("newSite.core.Professor: " + professor.name);
-
-                // Step 4: Create newSite.core.TimeSlot objects for the course
-                Set<TimeSlot> timeSlots = new HashSet<>();
-                if (courseData.times != null && !courseData.times.isEmpty()) {
-                    for (TimeSlotData timeData : courseData.times) {
-                        // System.out.println("Adding time slot: " + timeData.day + " " + timeData.start_time + "-" + timeData.end_time);
-                        TimeSlot timeSlot = new TimeSlot(timeData.start_time, timeData.end_time);
-                        timeSlots.add(timeSlot);
-                    }
-                } else {
-                    // System.out.println("Warning: No time slots listed for course: " + courseData.name);
-                }
-
-                // Step 5: Combine days from all time slots (e.g., "MWF" or "TR")
-                StringBuilder daysBuilder = new StringBuilder();
-                if (courseData.times != null) {
-                    for (TimeSlotData timeData : courseData.times) {
-                        daysBuilder.append(timeData.day);
-                    }
-                }
-                String days = daysBuilder.toString();
-                // System.out.println("Days: " + days);
-
-                // Step 6: Create a newSite.core.Course object
-                if (timeSlots.isEmpty()) {
-                    // System.out.println("Warning: Skipping course due to missing time slots: " + courseData.name);
-                    continue; // Skip this course if no time slots are available
-                }
-
-                Course course = new Course(
-                        courseData.name,
-                        timeSlots.iterator().next(), // Use the first time slot for simplicity
-                        days,
-                        professor,
-                        courseData.number,
-                        courseData.semester,
-                        courseData.location,
-                        courseData.section.charAt(0), // Convert section to char
-                        courseData.subject,
-                        courseData.credits
-                );
-
-                // Step 7: Add the course to the database
-                // System.out.println("Created course: " + course.name);
-                courseDatabase.add(course);
-            }
-        } catch (Exception e) {
-            // System.out.println("Error loading course database: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        // System.out.println("\nFinished loading course database. Total courses: " + courseDatabase.size());
-        return courseDatabase;
+        return CatalogSnapshot.load(filePath);
     }
 
     /**
@@ -147,6 +37,7 @@ public class Main {
 
         // Connect the components
         search.courseDatabase = courseDatabase;
+        search.buildIndex();
 
         // Login/Registration menu
         boolean validLoginChoice = false;
@@ -571,7 +462,7 @@ public class Main {
 
                     // Check for conflicts before adding
                     Event conflictingEvent = null;
-                    for (Event event : scheduleManager.getCurrentSchedule().events) {
+                    for (Event event : scheduleManager.getCurrentSchedule().getEvents()) {
                         if (event instanceof Course existingCourse) {
                             if (selectedCourse.ConflictsWith(existingCourse)) {
                                 conflictingEvent = existingCourse;
@@ -637,15 +528,14 @@ public class Main {
             } else if (choiceNum == 3) {
                 // Remove course from schedule
                 if (scheduleManager.getCurrentSchedule() == null ||
-                        scheduleManager.getCurrentSchedule().events == null ||
-                        scheduleManager.getCurrentSchedule().events.isEmpty()) {
+                        scheduleManager.getCurrentSchedule().getEvents().isEmpty()) {
                     System.out.println("No courses in current schedule.");
                     continue;
                 }
 
                 System.out.println("\nCurrent schedule courses:");
                 int i = 1;
-                for (Event event : scheduleManager.getCurrentSchedule().events) {
+                for (Event event : scheduleManager.getCurrentSchedule().getEvents()) {
                     if (event instanceof Course course) {
                         System.out.printf("%d. %s (%s %d) - Prof. %s\n",
                                 i++,
@@ -665,11 +555,11 @@ public class Main {
 
                     try {
                         courseNum = Integer.parseInt(courseNumInput);
-                        if (courseNum >= 0 && courseNum <= scheduleManager.getCurrentSchedule().events.size()) {
+                        if (courseNum >= 0 && courseNum <= scheduleManager.getCurrentSchedule().getEvents().size()) {
                             validCourseNum = true;
                         } else {
                             System.out.println("Number out of range. Please enter a number between 0 and " +
-                                    scheduleManager.getCurrentSchedule().events.size() + ".");
+                                    scheduleManager.getCurrentSchedule().getEvents().size() + ".");
                         }
                     } catch (NumberFormatException e) {
                         System.out.println("Invalid input. Please enter a number.");
@@ -677,7 +567,7 @@ public class Main {
                 }
 
                 if (courseNum > 0) {
-                    Event eventToRemove = (Event) scheduleManager.getCurrentSchedule().events.toArray()[courseNum - 1];
+                    Event eventToRemove = (Event) scheduleManager.getCurrentSchedule().getEvents().toArray()[courseNum - 1];
                     scheduleManager.remEvent(eventToRemove);
 
                     // logs the course removal
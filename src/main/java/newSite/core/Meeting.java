@@ -0,0 +1,30 @@
+package newSite.core;
+
+/**
+ * A single weekly meeting of an event: one day and the time on that day.
+ * Courses keep one Meeting per entry of their catalog "times" list, so a course meeting
+ * MWF 13:00-13:50 plus a Monday lab at 14:00-14:50 has four meetings.
+ */
+public class Meeting {
+    public char day;       // Day letter, see DayMask.DAY_LETTERS
+    public int startTime;  // Seconds from midnight
+    public int endTime;
+
+    public Meeting(char day, int startTime, int endTime) {
+        this.day = day;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    /**
+     * @return True if both meetings are on the same day and overlap for any length of time.
+     */
+    public boolean overlaps(Meeting other) {
+        return day == other.day && startTime < other.endTime && endTime > other.startTime;
+    }
+
+    @Override
+    public String toString() {
+        return day + " " + new TimeSlot(startTime, endTime);
+    }
+}
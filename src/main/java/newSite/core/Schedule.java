@@ -1,32 +1,144 @@
 package newSite.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 
 
 public class Schedule {
     public String name;
-    public Set<Event> events;
+    // Only changed through addEvent/removeEvent/setEvents, so the index below always matches it
+    private Set<Event> events = new HashSet<>();
+
+    // Per-weekday interval trees over the meetings of events (see EventIntervalIndex). Built on first use
+    // (e.g. after the schedule is loaded from JSON) and kept up to date by addEvent/removeEvent.
+    // Transient so saved schedules and JSON responses do not change.
+    private transient EventIntervalIndex index;
 
 
     public boolean CheckConflicts(Event e) {
         // Check if the event conflicts with any other event in the schedule (does not check for multiple conflicts)
-        for (Event event : this.events) {
-            if (event.ConflictsWith(e)) {
-                System.out.println("newSite.core.Event " + e.name + " conflicts with event " + event.name); //verbose
-                return true;
+        return findConflict(e) != null;
+    }
+
+    /**
+     * @return A read-only view of the events in the schedule (empty, never null).
+     */
+    public Set<Event> getEvents() {
+        return events != null ? Collections.unmodifiableSet(events) : Collections.emptySet();
+    }
+
+    /**
+     * Replaces the events of the schedule with a copy of the given ones.
+     *
+     * @param events The new events; null clears the schedule.
+     */
+    public void setEvents(Collection<? extends Event> events) {
+        this.events = events != null ? new HashSet<>(events) : new HashSet<>();
+        index = null;
+    }
+
+    /**
+     * Finds an event in the schedule that overlaps the given event, with one interval-tree lookup per
+     * meeting of {@code e}. Gives the same answer as checking {@link Event#ConflictsWith} against every event.
+     *
+     * @param e The event to check.
+     * @return A conflicting event, or null if there is none.
+     */
+    public Event findConflict(Event e) {
+        EventIntervalIndex current = index();
+        if (current == null) {
+            return null;
+        }
+        for (Meeting meeting : e.getMeetings()) {
+            Event conflict = current.firstOverlap(DayMask.DAY_LETTERS.indexOf(meeting.day), meeting.startTime, meeting.endTime);
+            if (conflict != null) {
+                return conflict;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds every event with a meeting inside a time window on any of the given days.
+     *
+     * @param dayMask   The days to look at, as a {@link DayMask} bitmask.
+     * @param startTime Start of the window, in seconds from midnight.
+     * @param endTime   End of the window.
+     * @return The overlapping events, each once.
+     */
+    public List<Event> eventsOverlapping(int dayMask, int startTime, int endTime) {
+        Set<Event> found = new LinkedHashSet<>();
+        EventIntervalIndex current = index();
+        if (current != null) {
+            for (int day = 0; day < DayMask.DAY_LETTERS.length(); day++) {
+                if ((dayMask & (1 << day)) != 0) {
+                    current.collectOverlaps(day, startTime, endTime, found);
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Adds an event and indexes its meetings.
+     *
+     * @return True if the event was added, false if it was already in the schedule.
+     */
+    public boolean addEvent(Event e) {
+        if (events == null) {
+            events = new HashSet<>();
+        }
+        EventIntervalIndex current = index();
+        if (!events.add(e)) {
+            return false;
+        }
+        current.add(e);
+        return true;
+    }
+
+    /**
+     * Removes an event and its meetings from the index.
+     *
+     * @return True if the event was in the schedule.
+     */
+    public boolean removeEvent(Event e) {
+        EventIntervalIndex current = index();
+        if (current == null || !events.remove(e)) {
+            return false;
+        }
+        current.remove(e);
+        return true;
+    }
+
+    /**
+     * @return The interval index for the current events, built on first use; null if events is null
+     *         (a schedule loaded from JSON without them).
+     */
+    private EventIntervalIndex index() {
+        if (events == null) {
+            return null;
+        }
+        if (index == null) {
+            EventIntervalIndex built = new EventIntervalIndex();
+            for (Event event : events) {
+                built.add(event);
             }
+            index = built;
         }
-        System.out.println("newSite.core.Event " + e.name + " does not conflict with any other events"); //verbose
-        return false;
+        return index;
     }
 
 
 
     public void copyRefNumbers() {
         // Ensure the schedule has events (courses)
-        if (this.events.isEmpty()) {
+        if (getEvents().isEmpty()) {
             System.out.println("No courses in the schedule to copy.");
             return;
         }
@@ -35,7 +147,7 @@ public class Schedule {
         ArrayList<String> refNumbers = new ArrayList<>();
 
         // Iterate through events in the schedule
-        for (Event e : this.events) {
+        for (Event e : getEvents()) {
             if (e instanceof Course course) { // Only copy ref numbers from newSite.core.Course objects
                 refNumbers.add(String.valueOf(course.courseCode)); // Convert int to string
             }
@@ -54,12 +166,12 @@ public class Schedule {
         sb.append("newSite.core.Schedule: ").append(this.name).append("\n");
 
         // Ensure the schedule has events (courses)
-        if (this.events.isEmpty()) {
+        if (getEvents().isEmpty()) {
             return ("No courses in the schedule to copy.\n");
         }
 
         //for each event, print it's name and time.
-        for (Event e : this.events) {
+        for (Event e : getEvents()) {
             sb.append(e.name).append(" - Time:").append(e.time).append("\n");
         }
         return sb.toString();
@@ -67,7 +179,7 @@ public class Schedule {
 
     public int getTotalCredits() {
         int totalCredits = 0;
-        for (Event event : this.events) {
+        for (Event event : getEvents()) {
             if (event instanceof Course course) {
                 totalCredits += course.credits;
             }
@@ -0,0 +1,236 @@
+package newSite.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds every conflict-free combination of sections for a list of wanted courses in one semester,
+ * optionally around events that are already fixed (e.g. the current schedule).
+ * <p>
+ * Each wanted course is a variable whose domain is its sections. Sections that clash with a fixed
+ * event are removed up front with {@link Schedule#findConflict}. Conflicts between the remaining
+ * sections are read from the catalog's {@link ConflictGraph} (one row intersection per section)
+ * into one bitset per section over all candidates. The search is then a backtracking over those
+ * bitsets: it always branches on the course with the fewest sections left, and after picking a
+ * section it removes that section's conflicts from every other course's domain (forward checking),
+ * backing up as soon as a course has nothing left. Dead ends are found one level after they are
+ * created, so only combinations that can still be completed are ever explored.
+ */
+public class ScheduleGenerator {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * A course to place: subject and course number, any section.
+     */
+    public static class WantedCourse {
+        public final String subject;
+        public final int courseCode;
+
+        public WantedCourse(String subject, int courseCode) {
+            this.subject = subject;
+            this.courseCode = courseCode;
+        }
+
+        @Override
+        public String toString() {
+            return subject + " " + courseCode;
+        }
+    }
+
+    /**
+     * The outcome of one generation.
+     */
+    public static class Result {
+        public List<List<Course>> schedules = new ArrayList<>(); // Each one section per placed course, in request order
+        public boolean truncated;                                 // True if there were more than the limit
+        public List<String> unavailable = new ArrayList<>();      // Wanted courses with no section that fits the fixed events
+        public List<String> alreadyScheduled = new ArrayList<>(); // Wanted courses already among the fixed events
+        public long nodes;                                        // Sections tried during the search
+        public double millis;
+    }
+
+    private final CourseCatalog catalog;
+
+    /**
+     * @param catalog The catalog to take sections from.
+     */
+    public ScheduleGenerator(CourseCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Enumerates conflict-free schedules.
+     *
+     * @param semester The semester, e.g. "2025_Spring" (case-insensitive).
+     * @param wanted   The courses to place; a course listed twice is only placed once.
+     * @param fixed    Events every schedule must fit around, or null. Wanted courses already on it are not placed again.
+     * @param limit    Maximum number of schedules to return.
+     * @return The schedules found, in a stable order (earlier sections of earlier courses first).
+     */
+    public Result generate(String semester, List<WantedCourse> wanted, Schedule fixed, int limit) {
+        long start = System.nanoTime();
+        Result result = new Result();
+
+        // Domains: the sections of each wanted course that fit around the fixed events
+        List<WantedCourse> placed = new ArrayList<>();
+        List<List<Course>> domains = new ArrayList<>();
+        for (WantedCourse course : wanted) {
+            if (course == null || course.subject == null || containsCourse(placed, course)) {
+                continue;
+            }
+            if (fixed != null && isScheduled(fixed, course, semester)) {
+                result.alreadyScheduled.add(course.toString());
+                continue;
+            }
+            List<Course> sections = new ArrayList<>();
+            for (Course section : catalog.sectionsWithCode(course.courseCode)) {
+                if (course.subject.trim().equalsIgnoreCase(section.subject) && semester.trim().equalsIgnoreCase(section.semester)
+                        && (fixed == null || fixed.findConflict(section) == null)) {
+                    sections.add(section);
+                }
+            }
+            if (sections.isEmpty()) {
+                result.unavailable.add(course.toString());
+                continue;
+            }
+            sections.sort(Comparator.comparingInt((Course section) -> section.section));
+            placed.add(course);
+            domains.add(sections);
+        }
+        if (!result.unavailable.isEmpty() || domains.isEmpty()) {
+            // A wanted course cannot be placed at all, so no complete schedule exists
+            result.millis = (System.nanoTime() - start) / 1e6;
+            return result;
+        }
+
+        // Candidates are numbered course by course; conflicts[c] holds the candidates clashing with c
+        List<Course> candidates = new ArrayList<>();
+        int[] variableOf = new int[domains.stream().mapToInt(List::size).sum()];
+        BitSet[] initial = new BitSet[domains.size()];
+        for (int v = 0; v < domains.size(); v++) {
+            initial[v] = new BitSet(variableOf.length);
+            for (Course section : domains.get(v)) {
+                initial[v].set(candidates.size());
+                variableOf[candidates.size()] = v;
+                candidates.add(section);
+            }
+        }
+        BitSet[] conflicts = candidateConflicts(candidates, variableOf);
+
+        int[] chosen = new int[domains.size()];
+        search(initial, new boolean[domains.size()], chosen, 0, conflicts, candidates, limit, result);
+        result.millis = (System.nanoTime() - start) / 1e6;
+        return result;
+    }
+
+    /**
+     * Looks up the conflicts between candidates (other than sections of the same course) in the
+     * catalog's conflict graph.
+     *
+     * @return For each candidate, the candidates it clashes with.
+     */
+    private BitSet[] candidateConflicts(List<Course> candidates, int[] variableOf) {
+        BitSet[] conflicts = new BitSet[candidates.size()];
+        BitSet ordinals = new BitSet(catalog.size());
+        Map<Integer, Integer> candidateOf = new HashMap<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            conflicts[c] = new BitSet(candidates.size());
+            Course section = candidates.get(c);
+            int ordinal = catalog.ordinalOf(section.subject, section.courseCode, section.section, section.semester);
+            ordinals.set(ordinal);
+            candidateOf.put(ordinal, c);
+        }
+        for (int[] pair : catalog.conflicts().conflictingPairs(ordinals)) {
+            int a = candidateOf.get(pair[0]);
+            int b = candidateOf.get(pair[1]);
+            if (variableOf[a] != variableOf[b]) {
+                conflicts[a].set(b);
+                conflicts[b].set(a);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Places the remaining courses.
+     *
+     * @return False once the limit has been passed, to stop the whole search.
+     */
+    private static boolean search(BitSet[] domains, boolean[] assigned, int[] chosen, int depth, BitSet[] conflicts,
+                                  List<Course> candidates, int limit, Result result) {
+        if (depth == domains.length) {
+            if (result.schedules.size() >= limit) {
+                result.truncated = true;
+                return false;
+            }
+            List<Course> schedule = new ArrayList<>(chosen.length);
+            for (int c : chosen) {
+                schedule.add(candidates.get(c));
+            }
+            result.schedules.add(Collections.unmodifiableList(schedule));
+            return true;
+        }
+
+        // Most constrained course first
+        int variable = -1;
+        for (int v = 0; v < domains.length; v++) {
+            if (!assigned[v] && (variable < 0 || domains[v].cardinality() < domains[variable].cardinality())) {
+                variable = v;
+            }
+        }
+
+        assigned[variable] = true;
+        BitSet[] next = new BitSet[domains.length];
+        for (int c = domains[variable].nextSetBit(0); c >= 0; c = domains[variable].nextSetBit(c + 1)) {
+            result.nodes++;
+            // Forward checking: drop the sections clashing with c; give up on c if a course runs out
+            boolean wipedOut = false;
+            for (int v = 0; v < domains.length && !wipedOut; v++) {
+                if (assigned[v]) {
+                    next[v] = domains[v];
+                    continue;
+                }
+                next[v] = (BitSet) domains[v].clone();
+                next[v].andNot(conflicts[c]);
+                wipedOut = next[v].isEmpty();
+            }
+            if (wipedOut) {
+                continue;
+            }
+            chosen[variable] = c;
+            if (!search(next, assigned, chosen, depth + 1, conflicts, candidates, limit, result)) {
+                assigned[variable] = false;
+                return false;
+            }
+        }
+        assigned[variable] = false;
+        return true;
+    }
+
+    private static boolean containsCourse(List<WantedCourse> courses, WantedCourse course) {
+        for (WantedCourse other : courses) {
+            if (other.courseCode == course.courseCode && other.subject.trim().equalsIgnoreCase(course.subject.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isScheduled(Schedule schedule, WantedCourse course, String semester) {
+        for (Event event : new ArrayList<>(schedule.getEvents())) {
+            if (event instanceof Course section && section.courseCode == course.courseCode
+                    && course.subject.trim().equalsIgnoreCase(section.subject)
+                    && (section.semester == null || semester.trim().equalsIgnoreCase(section.semester))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,7 +5,6 @@ import com.google.gson.GsonBuilder;
 
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Stack;
 
 public class ScheduleManager {
@@ -49,7 +48,7 @@ public class ScheduleManager {
             // Create a deep copy of the current schedule as the initial state
             Schedule initialState = new Schedule();
             initialState.name = currentSchedule.name;
-            initialState.events = new HashSet<>(currentSchedule.events);
+            initialState.setEvents(currentSchedule.getEvents());
             editHistory.push(initialState);
         }
     }
@@ -84,19 +83,15 @@ public class ScheduleManager {
             currentSchedule = loadedSchedule;
 
             // Debug info
-            if (loadedSchedule != null && loadedSchedule.events != null) {
-                //System.out.println("Loaded schedule with " + loadedSchedule.events.size() + " events");
-                for (Event event : loadedSchedule.events) {
+            if (loadedSchedule != null) {
+                //System.out.println("Loaded schedule with " + loadedSchedule.getEvents().size() + " events");
+                for (Event event : loadedSchedule.getEvents()) {
                     if (event != null) {
                         //System.out.println("Loaded event: " + event.getClass().getName());
                     }
                 }
             } else {
                 System.out.println("Warning: Loaded schedule is empty or null");
-                // Initialize empty schedule if needed
-                if (loadedSchedule.events == null) {
-                    loadedSchedule.events = new HashSet<>();
-                }
             }
 
             return loadedSchedule;
@@ -124,7 +119,6 @@ public class ScheduleManager {
         // Create a new newSite.core.Schedule object
         Schedule newSchedule = new Schedule();
         newSchedule.name = name;
-        newSchedule.events = new HashSet<>();
 
         // Save the new schedule to a file
         user.saveSchedule(newSchedule);
@@ -152,17 +146,13 @@ public class ScheduleManager {
             return true;
         }
 
-        if (currentSchedule.events == null) {
-            currentSchedule.events = new HashSet<>();
-        }
-
         if (currentSchedule.CheckConflicts(e)) {
             System.out.println("Error: newSite.core.Event conflicts with existing events in the schedule.");
             return true;
         }
 
         saveState();
-        currentSchedule.events.add(e);
+        currentSchedule.addEvent(e);
         return false;
     }
 
@@ -172,13 +162,13 @@ public class ScheduleManager {
      * @param e The event to remove.
      */
     public void remEvent(Event e) {
-        if (currentSchedule == null || currentSchedule.events == null) {
+        if (currentSchedule == null) {
             System.out.println("Error: No active schedule or empty schedule.");
             return;
         }
 
         saveState();
-        currentSchedule.events.remove(e);
+        currentSchedule.removeEvent(e);
         System.out.println(e.name + " was removed from schedule.");
     }
 
@@ -248,7 +238,7 @@ public class ScheduleManager {
             // Create a deep copy of the current schedule
             Schedule copy = new Schedule();
             copy.name = currentSchedule.name;
-            copy.events = new HashSet<>(currentSchedule.events);
+            copy.setEvents(currentSchedule.getEvents());
             editHistory.push(copy);
             undoneHistory.clear(); // Clear redo stack when new change is made
         }
@@ -280,11 +270,7 @@ public class ScheduleManager {
         if (currentSchedule != null) {
             Schedule undoneState = new Schedule();
             undoneState.name = currentSchedule.name;
-            if (currentSchedule.events != null) {
-                undoneState.events = new HashSet<>(currentSchedule.events);
-            } else {
-                undoneState.events = new HashSet<>();
-            }
+            undoneState.setEvents(currentSchedule.getEvents());
             undoneHistory.push(undoneState);
         }
 
@@ -318,11 +304,7 @@ public class ScheduleManager {
         if (currentSchedule != null) {
             Schedule currentState = new Schedule();
             currentState.name = currentSchedule.name;
-            if (currentSchedule.events != null) {
-                currentState.events = new HashSet<>(currentSchedule.events);
-            } else {
-                currentState.events = new HashSet<>();
-            }
+            currentState.setEvents(currentSchedule.getEvents());
             editHistory.push(currentState);
         }
 
@@ -1,28 +1,41 @@
 package newSite.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-// Import LevenshteinDistance from Apache Commons Text
-import org.apache.commons.text.similarity.LevenshteinDistance;
 
 
 public class Search {
     public Filter filter;
     public Set<Course> filteredResultsList;
-    public Set<Course> courseDatabase;
+    public volatile Set<Course> courseDatabase;
 
     // Levenshtein distance threshold (adjust as needed)
-    private static final int FUZZY_THRESHOLD_SHORT = 1; // Max edits for short tokens/words (e.g., <= 4 chars)
-    private static final int FUZZY_THRESHOLD_LONG = 2;  // Max edits for longer tokens/words
+    static final int FUZZY_THRESHOLD_SHORT = 1; // Max edits for short tokens/words (e.g., <= 4 chars)
+    static final int FUZZY_THRESHOLD_LONG = 2;  // Max edits for longer tokens/words
+
+    // Inverted indexes over courseDatabase (all courses and per semester), rebuilt whenever courseDatabase
+    // is replaced or resized. Only ever replaced as a whole, so concurrent searches always see a finished catalog.
+    private volatile CourseCatalog catalog;
 
-    // Instance of LevenshteinDistance
-    private static final LevenshteinDistance levenshteinDistance = new LevenshteinDistance();
+    // Recent results, keyed by normalized query + filters; cleared whenever the index is rebuilt
+    private final SearchCache cache;
 
 
     public Search(){
+        this(new SearchCache());
+    }
+
+    /**
+     * @param cache The result cache to use; benchmarks pass one that holds nothing to measure uncached queries.
+     */
+    Search(SearchCache cache) {
+        this.cache = cache;
         this.filteredResultsList = new HashSet<>();
         this.courseDatabase = new HashSet<>();
         if (this.filter == null) {
@@ -33,136 +46,348 @@ public class Search {
 
     /**
      * Searches for courses that match the user's query using keyword and fuzzy matching.
+     * Thin wrapper around {@link #execute(SearchQuery)} that applies the shared {@link #filter}
+     * and remembers the results in {@link #filteredResultsList}.
      *
      * @param query The search query entered by the user.
      * @return The set of courses that match the query and active filters.
      */
     public Set<Course> searchQuery(String query) {
-        if (courseDatabase == null || courseDatabase.isEmpty()) {
-            System.err.println("Search warning: courseDatabase is null or empty.");
-            return new HashSet<>();
-        }
-        if (query == null || query.trim().isEmpty()) {
-            return filterCourses(new HashSet<>(courseDatabase));
-        }
-
-        String[] tokens = query.trim().toLowerCase().split("\\s+");
-        Set<Course> currentResults = new HashSet<>(courseDatabase);
+        this.filteredResultsList = execute(SearchQuery.fromFilter(query, filter));
+        return this.filteredResultsList;
+    }
 
-        for (String token : tokens) {
-            if (token.isEmpty()) continue;
+    /**
+     * Runs a search without touching any shared state, so it is safe to call from several
+     * request threads at once.
+     *
+     * @param query The query text and filters to apply.
+     * @return A new set with the courses that match the query and its filters.
+     */
+    public Set<Course> execute(SearchQuery query) {
+        SearchMatches matches = findMatches(query);
+        Set<Course> results = new HashSet<>();
+        for (int i = 0; i < matches.size(); i++) {
+            results.add(matches.course(i));
+        }
+        return results;
+    }
 
-            final String currentToken = token;
-            currentResults = currentResults.stream()
-                    .filter(course -> matchesTokenFuzzy(course, currentToken))
-                    .collect(Collectors.toSet());
+    /**
+     * Runs a search and returns one page of the results ordered by relevance: exact course-code hits
+     * first, then subject hits, then course-name and professor hits (closer spellings first), then
+     * location/semester hits. Only the best {@code offset + limit} matches are kept while ranking; when
+     * that covers every match (e.g. a request without a limit) they are simply sorted once.
+     *
+     * @param query  The query text and filters to apply.
+     * @param limit  Maximum number of courses to return.
+     * @param offset Number of ranked courses to skip (from {@link SearchResult#nextOffset}).
+     * @return The requested page of results.
+     */
+    public SearchResult executeRanked(SearchQuery query, int limit, int offset) {
+        SearchMatches matches = findMatches(query);
+        int total = matches.size();
+        int wanted = (int) Math.min((long) offset + limit, total);
+        if (limit <= 0 || offset >= total) {
+            return new SearchResult(new ArrayList<>(), total, -1);
+        }
 
-            if (currentResults.isEmpty()) {
-                break;
+        Comparator<Integer> ranking = rankingOrder(matches);
+        Integer[] ranked = new Integer[wanted];
+        if (wanted == total) {
+            // Every match is returned, so a heap would only add work
+            for (int i = 0; i < total; i++) {
+                ranked[i] = i;
+            }
+            Arrays.sort(ranked, ranking);
+        } else {
+            // Bounded heap holding the best 'wanted' matches, worst on top
+            PriorityQueue<Integer> best = new PriorityQueue<>(wanted + 1, ranking.reversed());
+            for (int i = 0; i < total; i++) {
+                best.offer(i);
+                if (best.size() > wanted) {
+                    best.poll();
+                }
+            }
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.poll();
             }
         }
+        List<Course> page = new ArrayList<>(ranked.length - offset);
+        for (int i = offset; i < ranked.length; i++) {
+            page.add(matches.course(ranked[i]));
+        }
+        int nextOffset = wanted < total ? wanted : -1;
+        return new SearchResult(page, total, nextOffset);
+    }
 
-        this.filteredResultsList = filterCourses(currentResults);
-        return this.filteredResultsList;
+    /**
+     * Returns autocomplete suggestions for what the user has typed so far.
+     *
+     * @param prefix The text typed so far.
+     * @param limit  Maximum number of suggestions.
+     * @return Subjects, course codes, course-name words and professor names starting with the prefix,
+     *         most used first.
+     */
+    public List<SuggestTrie.Suggestion> suggest(String prefix, int limit) {
+        return suggest(prefix, limit, null);
     }
 
     /**
-     * Filters a set of courses based on the active time and day filters.
-     * @param coursesToFilter The set of courses to filter.
-     * @return A new set containing only the courses that match the filters.
+     * Returns autocomplete suggestions drawn from a single semester.
+     *
+     * @param prefix   The text typed so far.
+     * @param limit    Maximum number of suggestions.
+     * @param semester The semester to suggest from, or null for every semester.
+     * @return The suggestions, most used first; empty if the semester is unknown.
      */
-    private Set<Course> filterCourses(Set<Course> coursesToFilter) {
-        if (coursesToFilter == null || coursesToFilter.isEmpty()) {
-            return new HashSet<>();
+    public List<SuggestTrie.Suggestion> suggest(String prefix, int limit, String semester) {
+        Set<Course> database = courseDatabase;
+        if (database == null || database.isEmpty()) {
+            return new ArrayList<>();
         }
-        if (this.filter == null) {
-            System.err.println("Search warning: Filter object is null in filterCourses.");
-            return coursesToFilter;
+        SearchIndex semesterIndex = getCatalog(database).indexFor(semester);
+        if (semesterIndex == null) {
+            return new ArrayList<>();
         }
+        return semesterIndex.suggestions().suggest(prefix, limit);
+    }
 
-        Stream<Course> courseStream = coursesToFilter.stream();
+    /**
+     * Finds a single section by its identity, without scanning the course database.
+     *
+     * @param subject    The subject, e.g. "COMP".
+     * @param courseCode The course number.
+     * @param section    The section letter.
+     * @param semester   The semester, e.g. "2025_Spring", or null for the latest semester offering it.
+     * @return The section, or null if there is no such section.
+     */
+    public Course findCourse(String subject, int courseCode, char section, String semester) {
+        Set<Course> database = courseDatabase;
+        if (database == null || database.isEmpty()) {
+            return null;
+        }
+        return getCatalog(database).find(subject, courseCode, section, semester);
+    }
 
-        // Apply Time Filter
-        if (filter.timeRange != null) {
-            courseStream = courseStream.filter(this::isWithinTimeRange);
+    /**
+     * Returns the catalog for the current courseDatabase, used by controllers to look sections up
+     * without scanning the course database.
+     *
+     * @return The catalog, or null if there is no course database.
+     */
+    public CourseCatalog getCatalog() {
+        Set<Course> database = courseDatabase;
+        if (database == null) {
+            return null;
         }
+        return getCatalog(database);
+    }
 
-        // Apply Day Filter
-        if (filter.dayRange != null && !filter.dayRange.isEmpty()) {
-            courseStream = courseStream.filter(this::isWithinDayRange);
+    /**
+     * @return The semesters in the course database, oldest first.
+     */
+    public List<String> getSemesters() {
+        Set<Course> database = courseDatabase;
+        if (database == null || database.isEmpty()) {
+            return new ArrayList<>();
         }
+        return getCatalog(database).getSemesters();
+    }
 
-        return courseStream.collect(Collectors.toSet());
+    /**
+     * Best-first order over match positions: higher score, then subject, course code, section and semester
+     * so that pages are stable between requests.
+     */
+    private static Comparator<Integer> rankingOrder(SearchMatches matches) {
+        // Ties are broken on the index's columns, so ranking never dereferences a Course
+        CourseColumns columns = matches.index.columns();
+        return (a, b) -> {
+            int byScore = Integer.compare(matches.score(b), matches.score(a));
+            if (byScore != 0) return byScore;
+            int byIdentity = columns.compareIdentity(matches.ordinals[a], matches.ordinals[b]);
+            if (byIdentity != 0) return byIdentity;
+            return Integer.compare(matches.ordinals[a], matches.ordinals[b]);
+        };
     }
 
+    /**
+     * Finds the (unordered) matches of a query, using the result cache when possible.
+     */
+    private SearchMatches findMatches(SearchQuery query) {
+        SearchMatches matches = findCachedMatches(query);
+        return query.hasScheduleFilter() ? withoutConflicts(matches, query) : matches;
+    }
 
     /**
-     * Checks if a course matches the given token using fuzzy matching (Levenshtein distance).
-     * Now checks course name and professor name word by word.
-     *
-     * @param course The course to check.
-     * @param token  The lowercase search token.
-     * @return True if the course matches the token within the threshold, false otherwise.
+     * Drops the matches that conflict with the schedule of a query. Each candidate is checked
+     * against the schedule occupancy precomputed by the query, from the index's columns.
      */
-    private boolean matchesTokenFuzzy(Course course, String token) {
-        if (course == null || token == null || token.isEmpty()) {
-            return false;
+    private static SearchMatches withoutConflicts(SearchMatches matches, SearchQuery query) {
+        if (matches.size() == 0 || query.getScheduleOccupancy().isEmpty()) {
+            return matches;
+        }
+        CourseColumns columns = matches.index.columns();
+        WeeklyOccupancy occupancy = query.getScheduleOccupancy();
+        List<Meeting> meetings = query.getScheduleMeetings();
+        int[] ordinals = new int[matches.size()];
+        int[] scores = new int[matches.size()];
+        int n = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            if (!columns.conflictsWith(matches.ordinals[i], occupancy, meetings)) {
+                ordinals[n] = matches.ordinals[i];
+                scores[n++] = matches.scores[i];
+            }
         }
+        return new SearchMatches(matches.index, Arrays.copyOf(ordinals, n), Arrays.copyOf(scores, n));
+    }
 
-        // 1. Check Course Code (Exact Match Only)
-        if (String.valueOf(course.courseCode).equals(token)) {
-            return true;
+    /**
+     * Finds the matches of a query before the schedule filter; these are what the cache holds.
+     */
+    private SearchMatches findCachedMatches(SearchQuery query) {
+        Set<Course> database = courseDatabase;
+        if (database == null || database.isEmpty()) {
+            System.err.println("Search warning: courseDatabase is null or empty.");
+            return SearchMatches.EMPTY;
+        }
+        // A semester query only looks at that semester's partition
+        SearchIndex currentIndex = getCatalog(database).indexFor(query.getSemester());
+        if (currentIndex == null) {
+            return SearchMatches.EMPTY; // No courses in that semester
+        }
+        String cacheKey = query.cacheKey();
+        SearchMatches cached = cache.get(cacheKey, currentIndex);
+        if (cached != null) {
+            return cached;
         }
 
-        // 2. Check other fields using Levenshtein distance
-        int baseThreshold = (token.length() < 5) ? FUZZY_THRESHOLD_SHORT : FUZZY_THRESHOLD_LONG;
+        BitSet matches = null;
+        int[] scores = new int[currentIndex.size()];
+        int[] tokenScores = new int[currentIndex.size()];
 
-        // Check Subject (allow fuzzy match)
-        if (course.subject != null && levenshteinDistance.apply(token, course.subject.toLowerCase()) <= baseThreshold) {
-            return true;
-        }
+        String[] tokens = query.getText().isEmpty() ? new String[0] : query.getText().toLowerCase().split("\\s+");
 
-        // Check Course Name WORD BY WORD
-        if (course.name != null) {
-            // Split by space or common punctuation that might separate words in titles
-            String[] nameWords = course.name.toLowerCase().split("[\\s\\p{Punct}]+");
-            for (String word : nameWords) {
-                if (word.isEmpty()) continue;
-                int wordThreshold = (Math.min(token.length(), word.length()) < 5) ? FUZZY_THRESHOLD_SHORT : FUZZY_THRESHOLD_LONG;
-                if (levenshteinDistance.apply(token, word) <= wordThreshold) {
-                    return true; // Match found if any word is close enough
-                }
+        // Intersect the posting lists of every token, summing each token's best score per course
+        for (String token : tokens) {
+            if (token.isEmpty()) continue;
+
+            Arrays.fill(tokenScores, 0);
+            BitSet tokenMatches = currentIndex.matchToken(token, tokenScores);
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                matches.and(tokenMatches);
             }
-        }
 
-        // ***** START OF CHANGE: Check Professor Name PART BY PART *****
-        if (course.professor != null && course.professor.name != null) {
-            // Split professor name by common delimiters (space, comma, period)
-            // This handles "Lastname, Firstname M." and "Firstname M. Lastname" etc.
-            String[] nameParts = course.professor.name.toLowerCase().split("[\\s,.]+");
-            for (String part : nameParts) {
-                if (part.isEmpty()) continue;
-                // Determine threshold based on the shorter of token or name part
-                int partThreshold = (Math.min(token.length(), part.length()) < 5) ? FUZZY_THRESHOLD_SHORT : FUZZY_THRESHOLD_LONG;
-                if (levenshteinDistance.apply(token, part) <= partThreshold) {
-                    return true; // Match found if token is close to *any part* of the name
-                }
+            if (matches.isEmpty()) {
+                break;
+            }
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                scores[i] += tokenScores[i];
             }
         }
-        // ***** END OF CHANGE *****
 
-        // Simple contains check for location/semester
-        if (course.location != null && course.location.toLowerCase().contains(token)) {
-            return true;
+        // An empty query browses the whole catalog
+        if (matches == null) {
+            matches = currentIndex.allCourses();
         }
-        if (course.semester != null && course.semester.toLowerCase().contains(token)) {
-            return true;
+        filterCourses(matches, query, currentIndex);
+
+        int[] ordinals = new int[matches.cardinality()];
+        int[] matchScores = new int[ordinals.length];
+        int n = 0;
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            ordinals[n] = i;
+            matchScores[n++] = scores[i];
         }
+        SearchMatches result = new SearchMatches(currentIndex, ordinals, matchScores);
+        cache.put(cacheKey, result);
+        return result;
+    }
 
+    /**
+     * Builds the inverted indexes (whole catalog and per semester) for the current courseDatabase.
+     * Call this once after the catalog is loaded so the first query does not pay for it.
+     */
+    public synchronized void buildIndex() {
+        if (courseDatabase == null) {
+            catalog = null;
+            return;
+        }
+        catalog = CourseCatalog.build(courseDatabase);
+        cache.invalidateAll();
+    }
 
-        return false; // No match found
+    /**
+     * Switches to a new course database whose catalog has already been built, e.g. by a background
+     * reload. Searches running during the swap finish against the old catalog; every later search
+     * sees the new one, and never a partly built index.
+     *
+     * @param newDatabase The new course database.
+     * @param newCatalog  The catalog built from exactly that database.
+     */
+    public synchronized void replaceCatalog(Set<Course> newDatabase, CourseCatalog newCatalog) {
+        if (!newCatalog.covers(newDatabase)) {
+            throw new IllegalArgumentException("Catalog was not built from the given course database");
+        }
+        courseDatabase = newDatabase;
+        catalog = newCatalog;
+        cache.invalidateAll(); // Cached matches also remember their index, so this just frees memory early
     }
 
+    /**
+     * @return The result cache, e.g. to read its hit/miss counters.
+     */
+    public SearchCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns a catalog matching courseDatabase, rebuilding it if the database changed since it was built.
+     */
+    private CourseCatalog getCatalog(Set<Course> database) {
+        CourseCatalog currentCatalog = catalog;
+        if (currentCatalog != null && currentCatalog.covers(database)) {
+            return currentCatalog;
+        }
+        synchronized (this) {
+            // courseDatabase may have been swapped since the caller read it; always answer for the current one
+            Set<Course> current = courseDatabase;
+            currentCatalog = catalog;
+            if (currentCatalog == null || !currentCatalog.covers(current)) {
+                currentCatalog = CourseCatalog.build(current);
+                catalog = currentCatalog;
+                cache.invalidateAll();
+            }
+            return currentCatalog;
+        }
+    }
+
+    /**
+     * Narrows a candidate set to the courses matching the time and day filters of a query.
+     * Both filters are precomputed bitsets in the index, so this is a pair of bitwise ANDs.
+     * @param candidates The ordinals to filter, modified in place.
+     * @param query The query holding the filters.
+     * @param currentIndex The index the ordinals belong to.
+     */
+    private static void filterCourses(BitSet candidates, SearchQuery query, SearchIndex currentIndex) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Apply Time Filter
+        if (query.hasTimeRange()) {
+            candidates.and(currentIndex.timeRangeMatches(query.getStartTime(), query.getEndTime()));
+        }
+
+        // Apply Day Filter
+        if (query.getDayRange() != null) {
+            candidates.and(currentIndex.dayMatches(DayMask.parse(query.getDayRange())));
+        }
+    }
+
+
     // --- Stub Methods ---
     public void displaySearchResults(String query, Set<Course> results) {
         System.out.println("STUB METHOD CALLED: displaySearchResults for query: \"" + query + "\" with " + (results != null ? results.size() : 0) + " results.");
@@ -172,21 +397,8 @@ public class Search {
     }
 
     // --- Filter Methods ---
-    private boolean isWithinTimeRange(Course course) {
-        return course != null && course.time != null && filter.timeRange != null &&
-                (course.time.startTime >= filter.timeRange.startTime && course.time.endTime <= filter.timeRange.endTime);
-    }
-    private boolean isWithinDayRange(Course course) {
-        if (course == null || course.days == null || course.days.isEmpty() || filter.dayRange == null || filter.dayRange.isEmpty()) {
-            return false;
-        }
-        for (char courseDay : course.days.toCharArray()) {
-            if (filter.dayRange.indexOf(courseDay) != -1) {
-                return true;
-            }
-        }
-        return false;
-    }
+    // The methods below mutate the shared filter used by searchQuery(String).
+    // Request handlers should build a SearchQuery and call execute() instead.
     public void ModifyTimeFilter(TimeSlot ts) {
         if (filter == null) filter = new Filter();
         filter.timeRange = ts;
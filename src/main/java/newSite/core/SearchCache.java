@@ -0,0 +1,128 @@
+package newSite.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, thread-safe LRU cache of search matches keyed by {@link SearchQuery#cacheKey()}.
+ * Entries are evicted when the cache is full (least recently used first) or once they are older
+ * than the configured time to live. Matches remember the {@link SearchIndex} they were computed
+ * from, so results from a previous catalog are never returned after a reload.
+ */
+public class SearchCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 512;
+    public static final long DEFAULT_TTL_MILLIS = 10 * 60 * 1000L; // 10 minutes
+
+    private static final class Entry {
+        final SearchMatches matches;
+        final long createdAt;
+
+        Entry(SearchMatches matches, long createdAt) {
+            this.matches = matches;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SearchCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * @param maxEntries Maximum number of cached queries.
+     * @param ttlMillis  How long a result stays valid, in milliseconds.
+     */
+    public SearchCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        // accessOrder = true turns the LinkedHashMap into an LRU list
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > SearchCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Looks up the cached matches of a query.
+     *
+     * @param key   The query's cache key.
+     * @param index The index currently used by the search.
+     * @return The cached matches, or null on a miss.
+     */
+    public SearchMatches get(String key, SearchIndex index) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.matches.index == index && System.currentTimeMillis() - entry.createdAt <= ttlMillis) {
+                    hits.incrementAndGet();
+                    return entry.matches;
+                }
+                // Expired or computed against an older catalog
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the matches of a query.
+     *
+     * @param key     The query's cache key.
+     * @param matches The matches to cache.
+     */
+    public void put(String key, SearchMatches matches) {
+        synchronized (entries) {
+            entries.put(key, new Entry(matches, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Drops every cached result, e.g. when the course catalog is reloaded.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchCache{size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() +
+                ", evictions=" + getEvictions() + "}";
+    }
+}
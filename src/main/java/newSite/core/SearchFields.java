@@ -0,0 +1,76 @@
+package newSite.core;
+
+/**
+ * The normalized (lowercase, tokenized) text of a course used by search.
+ * Computed once per course when the catalog is loaded, so building indexes and answering queries
+ * never re-lowercase or re-split course names, subjects or professor names.
+ */
+public final class SearchFields {
+
+    private static final String[] NO_WORDS = new String[0];
+
+    public final String code;              // course code as text, e.g. "350"
+    public final String subject;           // lowercase subject, null if the course has none
+    public final String[] nameWords;       // lowercase course-name words
+    public final String[] displayNameWords; // the same words in their original case
+    public final String[] professorParts;  // lowercase parts of the professor's name
+    public final String location;          // lowercase location, null if none
+    public final String semester;          // lowercase semester, null if none
+
+    SearchFields(Course course) {
+        this(course, null);
+    }
+
+    /**
+     * @param interner Shares the lowercase strings and word arrays between courses, or null to give
+     *                 each course its own.
+     */
+    SearchFields(Course course, CatalogInterner interner) {
+        this.code = interner != null ? interner.string(String.valueOf(course.courseCode)) : String.valueOf(course.courseCode);
+        this.subject = lower(interner, course.subject);
+        if (course.name != null) {
+            // Split by space or common punctuation that might separate words in titles
+            this.nameWords = words(interner, "name", course.name.toLowerCase());
+            this.displayNameWords = words(interner, "display", course.name);
+        } else {
+            this.nameWords = NO_WORDS;
+            this.displayNameWords = NO_WORDS;
+        }
+        if (course.professor != null && course.professor.name != null) {
+            // Handles "Lastname, Firstname M." and "Firstname M. Lastname"
+            String name = course.professor.name.toLowerCase();
+            String[] parts = nonEmpty(name.split("[\\s,.]+"));
+            this.professorParts = interner != null ? interner.words("professor", name, parts) : parts;
+        } else {
+            this.professorParts = NO_WORDS;
+        }
+        this.location = lower(interner, course.location);
+        this.semester = lower(interner, course.semester);
+    }
+
+    private static String lower(CatalogInterner interner, String value) {
+        if (interner != null) return interner.lower(value);
+        return value != null ? value.toLowerCase() : null;
+    }
+
+    private static String[] words(CatalogInterner interner, String kind, String text) {
+        String[] words = nonEmpty(text.split("[\\s\\p{Punct}]+"));
+        return interner != null ? interner.words(kind, text, words) : words;
+    }
+
+    private static String[] nonEmpty(String[] words) {
+        int count = 0;
+        for (String word : words) {
+            if (!word.isEmpty()) count++;
+        }
+        if (count == words.length) {
+            return words;
+        }
+        String[] result = new String[count];
+        int i = 0;
+        for (String word : words) {
+            if (!word.isEmpty()) result[i++] = word;
+        }
+        return result;
+    }
+}
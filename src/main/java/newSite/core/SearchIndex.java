@@ -0,0 +1,399 @@
+package newSite.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Inverted index over the course catalog used by {@link Search}.
+ * Every course gets an ordinal (its position in {@link #courses}) and each normalized
+ * term (course code, subject, course-name word, professor-name part, location, semester)
+ * maps to the sorted ordinals of the courses containing it.
+ * Subjects and words are kept in {@link BKTree}s so fuzzy lookups only compare the query
+ * against a small part of the vocabulary.
+ * Day and time filters are answered from precomputed bitsets, so filtering a candidate set is a
+ * handful of word-wide AND operations rather than a per-course check. The bitsets, result ranking
+ * and conflict checks work from a {@link CourseColumns} copy of the courses.
+ * The index is built once per catalog (and once per semester, see {@link CourseCatalog}) and is
+ * read-only afterwards, so it can be shared by concurrent searches.
+ */
+public class SearchIndex {
+
+    // Relevance of a single token match: exact course code > subject > course-name word or
+    // professor-name part > location/semester substring. Fuzzy hits lose points per edit.
+    static final int SCORE_CODE = 1000;
+    static final int SCORE_SUBJECT = 500;
+    static final int SCORE_SUBJECT_PER_EDIT = 50;
+    static final int SCORE_WORD = 300;
+    static final int SCORE_WORD_PER_EDIT = 100;
+    static final int SCORE_CONTAINS = 50;
+
+    final Course[] courses; // ordinal -> course
+    private CourseColumns columns; // the same courses as primitive columns, for filtering and ranking
+
+    // term -> sorted course ordinals
+    private final Map<String, int[]> codePostings;
+    private final BKTree subjectTree;
+    private final BKTree wordTree; // course-name words and professor-name parts
+    // Locations and semesters are matched by substring, so they are kept as plain arrays to scan
+    private String[] locationTerms;
+    private int[][] locationPostings;
+    private String[] semesterTerms;
+    private int[][] semesterPostings;
+
+    // Day filter: courses meeting on each day, indexed like DayMask.DAY_LETTERS
+    private final BitSet[] coursesByDay;
+
+    // Time filter: distinct start/end times (seconds) in ascending order, and for each one the courses
+    // starting at or after it / ending at or before it. There are only a few dozen distinct times.
+    private int[] startValues;
+    private BitSet[] startsAtOrAfter;
+    private int[] endValues;
+    private BitSet[] endsAtOrBefore;
+
+    // Prefix autocomplete over the same courses
+    private SuggestTrie suggestTrie;
+
+    // Time spent building each part of the index, in nanoseconds (see CourseCatalog.build)
+    long tokenNanos;
+    long dayTimeNanos;
+    long suggestNanos;
+
+    private SearchIndex(int size) {
+        this.courses = new Course[size];
+        this.codePostings = new HashMap<>();
+        this.subjectTree = new BKTree();
+        this.wordTree = new BKTree();
+        this.coursesByDay = new BitSet[DayMask.DAY_LETTERS.length()];
+        for (int d = 0; d < coursesByDay.length; d++) {
+            coursesByDay[d] = new BitSet(size);
+        }
+    }
+
+    /**
+     * Builds the index for the given courses. The token index, the day/time indexes and the
+     * suggestion trie only read the courses and each fill their own fields, so they are built in
+     * parallel on the common {@link ForkJoinPool}.
+     *
+     * @param courseDatabase The courses to index.
+     * @return The finished index.
+     */
+    public static SearchIndex build(Collection<Course> courseDatabase) {
+        SearchIndex index = new SearchIndex(courseDatabase.size());
+        int ordinal = 0;
+        for (Course course : courseDatabase) {
+            index.courses[ordinal++] = course;
+        }
+
+        ForkJoinTask<?> dayTime = ForkJoinTask.adapt(index::buildDayTimeIndexes).fork();
+        ForkJoinTask<?> suggest = ForkJoinTask.adapt(() -> {
+            long start = System.nanoTime();
+            index.suggestTrie = SuggestTrie.build(courseDatabase);
+            index.suggestNanos = System.nanoTime() - start;
+        }).fork();
+        index.buildTokenIndex();
+        dayTime.join();
+        suggest.join();
+        return index;
+    }
+
+    /**
+     * Builds the postings of every search term and the fuzzy-lookup trees.
+     */
+    private void buildTokenIndex() {
+        long start = System.nanoTime();
+        Map<String, List<Integer>> codes = new HashMap<>();
+        Map<String, List<Integer>> subjects = new HashMap<>();
+        Map<String, List<Integer>> words = new HashMap<>();
+        Map<String, List<Integer>> locations = new HashMap<>();
+        Map<String, List<Integer>> semesters = new HashMap<>();
+
+        for (int ordinal = 0; ordinal < courses.length; ordinal++) {
+            Course course = courses[ordinal];
+            if (course == null) continue;
+            // Terms come pre-normalized from the course, so building never lowercases or splits text
+            SearchFields fields = course.getSearchFields();
+            addPosting(codes, fields.code, ordinal);
+            if (fields.subject != null) {
+                addPosting(subjects, fields.subject, ordinal);
+            }
+            for (String word : fields.nameWords) {
+                addPosting(words, word, ordinal);
+            }
+            for (String part : fields.professorParts) {
+                addPosting(words, part, ordinal);
+            }
+            if (fields.location != null) {
+                addPosting(locations, fields.location, ordinal);
+            }
+            if (fields.semester != null) {
+                addPosting(semesters, fields.semester, ordinal);
+            }
+        }
+
+        freeze(codes, codePostings);
+        freeze(subjects, subjectTree);
+        freeze(words, wordTree);
+        Map<String, int[]> frozen = new HashMap<>();
+        freeze(locations, frozen);
+        locationTerms = frozen.keySet().toArray(new String[0]);
+        locationPostings = postingsOf(locationTerms, frozen);
+        frozen.clear();
+        freeze(semesters, frozen);
+        semesterTerms = frozen.keySet().toArray(new String[0]);
+        semesterPostings = postingsOf(semesterTerms, frozen);
+        tokenNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Builds the columns and the day and time filter bitsets from them.
+     */
+    private void buildDayTimeIndexes() {
+        long start = System.nanoTime();
+        columns = new CourseColumns(courses);
+        buildDayIndex();
+        buildTimeIndex();
+        dayTimeNanos = System.nanoTime() - start;
+    }
+
+    private static void addPosting(Map<String, List<Integer>> postings, String term, int ordinal) {
+        List<Integer> list = postings.computeIfAbsent(term, k -> new ArrayList<>());
+        // Ordinals are added in increasing order, so only the last entry can be a duplicate
+        if (list.isEmpty() || list.get(list.size() - 1) != ordinal) {
+            list.add(ordinal);
+        }
+    }
+
+    private static void freeze(Map<String, List<Integer>> building, Map<String, int[]> target) {
+        for (Map.Entry<String, List<Integer>> entry : building.entrySet()) {
+            List<Integer> list = entry.getValue();
+            int[] ordinals = new int[list.size()];
+            for (int i = 0; i < ordinals.length; i++) {
+                ordinals[i] = list.get(i);
+            }
+            target.put(entry.getKey(), ordinals);
+        }
+    }
+
+    private static void freeze(Map<String, List<Integer>> building, BKTree target) {
+        Map<String, int[]> frozen = new HashMap<>();
+        freeze(building, frozen);
+        for (Map.Entry<String, int[]> entry : frozen.entrySet()) {
+            target.add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static int[][] postingsOf(String[] terms, Map<String, int[]> postings) {
+        int[][] result = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            result[i] = postings.get(terms[i]);
+        }
+        return result;
+    }
+
+    private void buildDayIndex() {
+        for (int ordinal = 0; ordinal < columns.size(); ordinal++) {
+            int dayMask = columns.dayMask[ordinal];
+            for (int d = 0; d < coursesByDay.length; d++) {
+                if ((dayMask & (1 << d)) != 0) coursesByDay[d].set(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Builds the cumulative start/end bitsets used by {@link #timeRangeMatches}.
+     */
+    private void buildTimeIndex() {
+        int[] starts = columns.start;
+        int[] ends = columns.end;
+        List<Integer> timed = new ArrayList<>();
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] != CourseColumns.NO_TIME) timed.add(i);
+        }
+
+        // Starts: walk from the latest start down, accumulating "starts at or after"
+        Integer[] byStart = timed.toArray(new Integer[0]);
+        Arrays.sort(byStart, (a, b) -> Integer.compare(starts[a], starts[b]));
+        int[] distinctStarts = distinctValues(byStart, starts);
+        startValues = distinctStarts;
+        startsAtOrAfter = new BitSet[distinctStarts.length];
+        BitSet running = new BitSet(courses.length);
+        int pos = byStart.length - 1;
+        for (int v = distinctStarts.length - 1; v >= 0; v--) {
+            while (pos >= 0 && starts[byStart[pos]] >= distinctStarts[v]) {
+                running.set(byStart[pos--]);
+            }
+            startsAtOrAfter[v] = (BitSet) running.clone();
+        }
+
+        // Ends: walk from the earliest end up, accumulating "ends at or before"
+        Integer[] byEnd = timed.toArray(new Integer[0]);
+        Arrays.sort(byEnd, (a, b) -> Integer.compare(ends[a], ends[b]));
+        int[] distinctEnds = distinctValues(byEnd, ends);
+        endValues = distinctEnds;
+        endsAtOrBefore = new BitSet[distinctEnds.length];
+        running = new BitSet(courses.length);
+        pos = 0;
+        for (int v = 0; v < distinctEnds.length; v++) {
+            while (pos < byEnd.length && ends[byEnd[pos]] <= distinctEnds[v]) {
+                running.set(byEnd[pos++]);
+            }
+            endsAtOrBefore[v] = (BitSet) running.clone();
+        }
+    }
+
+    private static int[] distinctValues(Integer[] sortedOrdinals, int[] column) {
+        int[] values = new int[sortedOrdinals.length];
+        int count = 0;
+        for (Integer ordinal : sortedOrdinals) {
+            int value = column[ordinal];
+            if (count == 0 || values[count - 1] != value) {
+                values[count++] = value;
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    /** @return The number of indexed courses. */
+    public int size() {
+        return courses.length;
+    }
+
+    /** @return The autocomplete trie for the indexed courses. */
+    public SuggestTrie suggestions() {
+        return suggestTrie;
+    }
+
+    /** @return The indexed courses as primitive columns. */
+    public CourseColumns columns() {
+        return columns;
+    }
+
+    /** @return The course with the given ordinal. */
+    public Course course(int ordinal) {
+        return courses[ordinal];
+    }
+
+    /** @return A bitset with every indexed course set. */
+    public BitSet allCourses() {
+        BitSet all = new BitSet(courses.length);
+        all.set(0, courses.length);
+        return all;
+    }
+
+    /**
+     * Finds every course matching a single lowercase query token.
+     * Matching rules are the ones the search has always used: exact course code, fuzzy subject,
+     * fuzzy course-name word or professor-name part, and substring of location or semester.
+     *
+     * @param token The lowercase search token.
+     * @return The ordinals of the matching courses.
+     */
+    public BitSet matchToken(String token) {
+        return matchToken(token, null);
+    }
+
+    /**
+     * Finds every course matching a single lowercase query token and records how well each one matched.
+     *
+     * @param token  The lowercase search token.
+     * @param scores If not null, scores[ordinal] is raised to the best relevance score of the token for
+     *               each matching course (see the SCORE_ constants).
+     * @return The ordinals of the matching courses.
+     */
+    public BitSet matchToken(String token, int[] scores) {
+        BitSet hits = new BitSet(courses.length);
+        if (token == null || token.isEmpty()) {
+            return hits;
+        }
+
+        // 1. Course code (exact match only)
+        addAll(hits, codePostings.get(token), scores, SCORE_CODE);
+
+        // 2. Subject (fuzzy, threshold based on the token length only)
+        int baseThreshold = (token.length() < 5) ? Search.FUZZY_THRESHOLD_SHORT : Search.FUZZY_THRESHOLD_LONG;
+        subjectTree.search(token, baseThreshold, (term, distance, postings) ->
+                addAll(hits, postings, scores, SCORE_SUBJECT - distance * SCORE_SUBJECT_PER_EDIT));
+
+        // 3. Course-name words and professor-name parts (fuzzy, threshold based on the shorter string)
+        // Search with the widest threshold the token allows, then apply the per-word threshold
+        int tokenLength = token.length();
+        wordTree.search(token, baseThreshold, (word, distance, postings) -> {
+            int wordThreshold = (Math.min(tokenLength, word.length()) < 5) ? Search.FUZZY_THRESHOLD_SHORT : Search.FUZZY_THRESHOLD_LONG;
+            if (distance <= wordThreshold) {
+                addAll(hits, postings, scores, SCORE_WORD - distance * SCORE_WORD_PER_EDIT);
+            }
+        });
+
+        // 4. Simple contains check for location/semester
+        for (int i = 0; i < locationTerms.length; i++) {
+            if (locationTerms[i].contains(token)) addAll(hits, locationPostings[i], scores, SCORE_CONTAINS);
+        }
+        for (int i = 0; i < semesterTerms.length; i++) {
+            if (semesterTerms[i].contains(token)) addAll(hits, semesterPostings[i], scores, SCORE_CONTAINS);
+        }
+
+        return hits;
+    }
+
+    /**
+     * Finds the courses that start at or after {@code startTime} and end at or before {@code endTime}.
+     * Courses without a time slot never match.
+     *
+     * @param startTime Earliest allowed start, in seconds from midnight.
+     * @param endTime   Latest allowed end, in seconds from midnight.
+     * @return A new bitset of matching ordinals.
+     */
+    public BitSet timeRangeMatches(int startTime, int endTime) {
+        // First distinct start >= startTime
+        int startIdx = Arrays.binarySearch(startValues, startTime);
+        if (startIdx < 0) startIdx = -startIdx - 1;
+        // Last distinct end <= endTime
+        int endIdx = Arrays.binarySearch(endValues, endTime);
+        if (endIdx < 0) endIdx = -endIdx - 2;
+
+        if (startIdx >= startValues.length || endIdx < 0) {
+            return new BitSet(courses.length);
+        }
+        BitSet matches = (BitSet) startsAtOrAfter[startIdx].clone();
+        matches.and(endsAtOrBefore[endIdx]);
+        return matches;
+    }
+
+    /**
+     * Finds the courses meeting on at least one of the given days.
+     *
+     * @param dayMask The allowed days as a {@link DayMask} bitmask.
+     * @return A new bitset of matching ordinals.
+     */
+    public BitSet dayMatches(int dayMask) {
+        BitSet matches = new BitSet(courses.length);
+        for (int d = 0; d < coursesByDay.length; d++) {
+            if ((dayMask & (1 << d)) != 0) {
+                matches.or(coursesByDay[d]);
+            }
+        }
+        return matches;
+    }
+
+    /** @return The {@link DayMask} bitmask of the course with the given ordinal. */
+    public int dayMask(int ordinal) {
+        return columns.dayMask[ordinal];
+    }
+
+    private static void addAll(BitSet hits, int[] ordinals, int[] scores, int score) {
+        if (ordinals == null) return;
+        for (int ordinal : ordinals) {
+            hits.set(ordinal);
+            if (scores != null && scores[ordinal] < score) {
+                scores[ordinal] = score;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package newSite.core;
+
+/**
+ * The unordered courses matched by one query together with their relevance scores.
+ * Instances are immutable, which lets {@link SearchCache} hand the same object to several requests;
+ * each request then ranks or copies it as needed.
+ */
+public final class SearchMatches {
+
+    static final SearchMatches EMPTY = new SearchMatches(null, new int[0], new int[0]);
+
+    final SearchIndex index;
+    final int[] ordinals; // ordinals into index, ascending
+    final int[] scores;   // relevance of ordinals[i], higher is better
+
+    /**
+     * @param index    The index the ordinals refer to.
+     * @param ordinals The matched ordinals in ascending order.
+     * @param scores   The relevance of each matched ordinal.
+     */
+    public SearchMatches(SearchIndex index, int[] ordinals, int[] scores) {
+        this.index = index;
+        this.ordinals = ordinals;
+        this.scores = scores;
+    }
+
+    /** @return The number of matched courses. */
+    public int size() {
+        return ordinals.length;
+    }
+
+    /** @return The i-th matched course (in index order, not ranked). */
+    public Course course(int i) {
+        return index.course(ordinals[i]);
+    }
+
+    /** @return The relevance score of the i-th matched course. */
+    public int score(int i) {
+        return scores[i];
+    }
+}
@@ -0,0 +1,175 @@
+package newSite.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable description of one course search: the query text plus every filter applied to it.
+ * Unlike {@link Filter}, a SearchQuery is never shared or modified, so each request can build its
+ * own and run it through {@link Search#execute(SearchQuery)} concurrently with other requests.
+ * New filters are added with {@code with...} methods that return a copy.
+ */
+public final class SearchQuery {
+
+    private final String text;
+    private final int startTime; // seconds from midnight, -1 if there is no time filter
+    private final int endTime;
+    private final String dayRange; // e.g., "MWF", null if there is no day filter
+    private final String semester; // e.g., "2025_Spring", null to search every semester
+    // Slots and meetings of the schedule results must fit around, null if there is no schedule filter
+    private final WeeklyOccupancy scheduleOccupancy;
+    private final List<Meeting> scheduleMeetings;
+
+    /**
+     * Creates a query without filters.
+     *
+     * @param text The search text entered by the user (may be null or empty to browse everything).
+     */
+    public SearchQuery(String text) {
+        this(text, -1, -1, null, null, null, null);
+    }
+
+    private SearchQuery(String text, int startTime, int endTime, String dayRange, String semester,
+                        WeeklyOccupancy scheduleOccupancy, List<Meeting> scheduleMeetings) {
+        this.text = text == null ? "" : text.trim();
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.dayRange = dayRange;
+        this.semester = semester;
+        this.scheduleOccupancy = scheduleOccupancy;
+        this.scheduleMeetings = scheduleMeetings;
+    }
+
+    /**
+     * Creates a query from the text and the current state of a mutable {@link Filter}.
+     *
+     * @param text   The search text.
+     * @param filter The filter to copy, may be null.
+     * @return A query holding a snapshot of the filter.
+     */
+    public static SearchQuery fromFilter(String text, Filter filter) {
+        if (filter == null) {
+            return new SearchQuery(text);
+        }
+        // dayRange is copied as-is; Search.ModifyDayFilter has already cleaned it
+        String days = (filter.dayRange == null || filter.dayRange.isEmpty()) ? null : filter.dayRange;
+        if (filter.timeRange == null) {
+            return new SearchQuery(text, -1, -1, days, null, null, null);
+        }
+        return new SearchQuery(text, filter.timeRange.startTime, filter.timeRange.endTime, days, null, null, null);
+    }
+
+    /**
+     * @param timeRange Courses must start and end inside this range, or null for no time filter.
+     * @return A copy of this query with the time filter replaced.
+     */
+    public SearchQuery withTimeRange(TimeSlot timeRange) {
+        if (timeRange == null) {
+            return new SearchQuery(text, -1, -1, dayRange, semester, scheduleOccupancy, scheduleMeetings);
+        }
+        return new SearchQuery(text, timeRange.startTime, timeRange.endTime, dayRange, semester,
+                scheduleOccupancy, scheduleMeetings);
+    }
+
+    /**
+     * @param days Courses must meet on at least one of these days (M, T, W, R, F), or null for no day filter.
+     *             Other characters are ignored.
+     * @return A copy of this query with the day filter replaced.
+     */
+    public SearchQuery withDays(String days) {
+        String cleaned = null;
+        if (days != null) {
+            cleaned = days.replaceAll("[^MTWRF]", "");
+            if (cleaned.isEmpty()) {
+                cleaned = null;
+            }
+        }
+        return new SearchQuery(text, startTime, endTime, cleaned, semester, scheduleOccupancy, scheduleMeetings);
+    }
+
+    /**
+     * @param semester Only search this semester, e.g. "2025_Spring" (case-insensitive), or null for every semester.
+     * @return A copy of this query with the semester replaced.
+     */
+    public SearchQuery withSemester(String semester) {
+        String trimmed = (semester == null || semester.trim().isEmpty()) ? null : semester.trim();
+        return new SearchQuery(text, startTime, endTime, dayRange, trimmed, scheduleOccupancy, scheduleMeetings);
+    }
+
+    /**
+     * Restricts the results to courses that fit around a schedule, i.e. that do not conflict with any
+     * of its events. The schedule's occupancy is computed here, once, and every candidate is then
+     * checked against it; later changes to the schedule do not affect this query.
+     *
+     * @param schedule The schedule to fit around, or null for no schedule filter.
+     * @return A copy of this query with the schedule filter replaced.
+     */
+    public SearchQuery withoutConflictsWith(Schedule schedule) {
+        if (schedule == null) {
+            return new SearchQuery(text, startTime, endTime, dayRange, semester, null, null);
+        }
+        List<Meeting> meetings = new ArrayList<>();
+        for (Event event : new ArrayList<>(schedule.getEvents())) {
+            meetings.addAll(event.getMeetings());
+        }
+        return new SearchQuery(text, startTime, endTime, dayRange, semester,
+                WeeklyOccupancy.of(meetings), Collections.unmodifiableList(meetings));
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean hasTimeRange() {
+        return startTime >= 0;
+    }
+
+    public int getStartTime() {
+        return startTime;
+    }
+
+    public int getEndTime() {
+        return endTime;
+    }
+
+    public String getDayRange() {
+        return dayRange;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public boolean hasScheduleFilter() {
+        return scheduleOccupancy != null;
+    }
+
+    public WeeklyOccupancy getScheduleOccupancy() {
+        return scheduleOccupancy;
+    }
+
+    public List<Meeting> getScheduleMeetings() {
+        return scheduleMeetings;
+    }
+
+    /**
+     * Builds the key used by {@link SearchCache}: the lowercase tokens of the text separated by single
+     * spaces, followed by the filters. Queries that only differ in case or spacing share a key.
+     * The schedule filter is not part of the key: it is applied to the cached matches of each request.
+     */
+    public String cacheKey() {
+        String tokens = text.isEmpty() ? "" : String.join(" ", text.toLowerCase().split("\\s+"));
+        return tokens + "|" + (hasTimeRange() ? startTime + "-" + endTime : "") + "|" +
+                (dayRange != null ? dayRange : "") + "|" + (semester != null ? semester.toLowerCase() : "");
+    }
+
+    @Override
+    public String toString() {
+        return "SearchQuery{text='" + text + "', time=" +
+                (hasTimeRange() ? new TimeSlot(startTime, endTime).toString() : "any") +
+                ", days=" + (dayRange != null ? dayRange : "any") +
+                ", semester=" + (semester != null ? semester : "any") +
+                (hasScheduleFilter() ? ", fits " + scheduleMeetings.size() + " schedule meetings" : "") + "}";
+    }
+}
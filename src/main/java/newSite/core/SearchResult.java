@@ -0,0 +1,18 @@
+package newSite.core;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results.
+ */
+public class SearchResult {
+    public List<Course> courses;   // best match first
+    public int totalMatches;       // number of matches across all pages
+    public int nextOffset;         // offset of the next page, or -1 if this is the last page
+
+    public SearchResult(List<Course> courses, int totalMatches, int nextOffset) {
+        this.courses = courses;
+        this.totalMatches = totalMatches;
+        this.nextOffset = nextOffset;
+    }
+}
@@ -0,0 +1,292 @@
+package newSite.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix autocomplete over the catalog: subjects ("COMP"), subject + code ("COMP 350"),
+ * course-name words and professor names, each weighted by the number of sections using it.
+ * <p>
+ * The trie is path-compressed and stored in a few parallel int arrays. Terms are sorted, so every
+ * node covers a contiguous range of terms and only needs its depth, its first child, its next
+ * sibling and its term range; edge labels are read back from the terms themselves. Nodes covering
+ * many terms keep their top suggestions precomputed, so a lookup is a short walk down the trie
+ * plus either a cached list or a scan of a small range.
+ */
+public class SuggestTrie {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    // Nodes covering more terms than this keep a precomputed top list instead of being scanned
+    private static final int PRECOMPUTE_THRESHOLD = 32;
+
+    /**
+     * A single autocomplete suggestion, serialized as JSON by the suggest endpoint.
+     */
+    public static class Suggestion {
+        public String text;  // what to put in the search box, e.g. "COMP 350"
+        public String type;  // "subject", "course", "word" or "professor"
+        public int count;    // number of sections using this term
+
+        public Suggestion(String text, String type, int count) {
+            this.text = text;
+            this.type = type;
+            this.count = count;
+        }
+    }
+
+    // Terms sorted by key
+    private final String[] keys;
+    private final String[] texts;
+    private final String[] types;
+    private final int[] counts;
+
+    // Nodes (0 is the root)
+    private int nodeCount;
+    private int[] depth;       // length of the prefix shared by the node's terms
+    private int[] firstChild;  // -1 if none
+    private int[] nextSibling; // -1 if none
+    private int[] rangeStart;  // first term under the node
+    private int[] rangeEnd;    // one past the last term under the node
+    private final Map<Integer, int[]> topTerms = new HashMap<>(); // node -> best terms, for large nodes
+
+    private SuggestTrie(List<String[]> entries, List<Integer> entryCounts) {
+        int n = entries.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing(i -> entries.get(i)[0]));
+
+        keys = new String[n];
+        texts = new String[n];
+        types = new String[n];
+        counts = new int[n];
+        for (int i = 0; i < n; i++) {
+            String[] entry = entries.get(order[i]);
+            keys[i] = entry[0];
+            texts[i] = entry[1];
+            types[i] = entry[2];
+            counts[i] = entryCounts.get(order[i]);
+        }
+
+        int capacity = Math.max(1, 2 * n);
+        depth = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        rangeStart = new int[capacity];
+        rangeEnd = new int[capacity];
+        buildNode(0, n, 0);
+        precomputeTopTerms();
+    }
+
+    /**
+     * Builds the suggestion trie for a set of courses.
+     *
+     * @param courses The courses of the catalog.
+     * @return The finished trie.
+     */
+    public static SuggestTrie build(Collection<Course> courses) {
+        // key + type -> [key, display text, type] and section count
+        Map<String, String[]> entries = new HashMap<>();
+        Map<String, Integer> entryCounts = new HashMap<>();
+
+        for (Course course : courses) {
+            if (course == null) continue;
+            if (course.subject != null) {
+                addTerm(entries, entryCounts, course.subject, "subject");
+                addTerm(entries, entryCounts, course.subject + " " + course.courseCode, "course");
+            }
+            for (String word : course.getSearchFields().displayNameWords) {
+                if (word.length() > 1) addTerm(entries, entryCounts, word, "word");
+            }
+            if (course.professor != null && course.professor.name != null && !course.professor.name.isEmpty()) {
+                addTerm(entries, entryCounts, course.professor.name, "professor");
+            }
+        }
+
+        List<String[]> entryList = new ArrayList<>(entries.size());
+        List<Integer> countList = new ArrayList<>(entries.size());
+        for (Map.Entry<String, String[]> entry : entries.entrySet()) {
+            String[] term = entry.getValue();
+            // A title word that is also a subject ("COMP PROGRAMMING I") would just repeat the subject
+            if (term[2].equals("word") && entries.containsKey("subject" + '\u0000' + term[0])) {
+                continue;
+            }
+            entryList.add(entry.getValue());
+            countList.add(entryCounts.get(entry.getKey()));
+        }
+        return new SuggestTrie(entryList, countList);
+    }
+
+    private static void addTerm(Map<String, String[]> entries, Map<String, Integer> counts, String text, String type) {
+        String key = normalize(text).trim();
+        if (key.isEmpty()) return;
+        String id = type + '\u0000' + key;
+        entries.putIfAbsent(id, new String[]{key, text, type});
+        counts.merge(id, 1, Integer::sum);
+    }
+
+    /**
+     * Lowercases a term or prefix and collapses whitespace, so "  Comp   3" matches "comp 3".
+     * A trailing space is kept, so "comp " only suggests COMP courses.
+     */
+    static String normalize(String text) {
+        return text.toLowerCase().replaceAll("\\s+", " ").replaceFirst("^ ", "");
+    }
+
+    /**
+     * Builds the node for terms [start, end) that share their first {@code minDepth} characters.
+     *
+     * @return The new node's id.
+     */
+    private int buildNode(int start, int end, int minDepth) {
+        int node = nodeCount++;
+        ensureCapacity(nodeCount);
+        rangeStart[node] = start;
+        rangeEnd[node] = end;
+        firstChild[node] = -1;
+        nextSibling[node] = -1;
+        if (start >= end) {
+            depth[node] = minDepth;
+            return node;
+        }
+
+        // Terms are sorted, so the prefix shared by the whole range is the one shared by its first and last term
+        depth[node] = commonPrefixLength(keys[start], keys[end - 1]);
+
+        int d = depth[node];
+        int i = start;
+        // Terms ending exactly at this node sort first and stay on the node itself
+        while (i < end && keys[i].length() == d) i++;
+
+        int previousChild = -1;
+        while (i < end) {
+            char c = keys[i].charAt(d);
+            int j = i + 1;
+            while (j < end && keys[j].charAt(d) == c) j++;
+            int child = buildNode(i, j, d + 1);
+            if (previousChild < 0) {
+                firstChild[node] = child;
+            } else {
+                nextSibling[previousChild] = child;
+            }
+            previousChild = child;
+            i = j;
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) i++;
+        return i;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= depth.length) return;
+        int capacity = Math.max(size, depth.length * 2);
+        depth = Arrays.copyOf(depth, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        rangeStart = Arrays.copyOf(rangeStart, capacity);
+        rangeEnd = Arrays.copyOf(rangeEnd, capacity);
+    }
+
+    private void precomputeTopTerms() {
+        for (int node = 0; node < nodeCount; node++) {
+            if (rangeEnd[node] - rangeStart[node] > PRECOMPUTE_THRESHOLD) {
+                topTerms.put(node, scanTop(rangeStart[node], rangeEnd[node], MAX_SUGGESTIONS));
+            }
+        }
+    }
+
+    /**
+     * Returns the most used terms starting with the given prefix.
+     *
+     * @param prefix The text typed so far.
+     * @param limit  Maximum number of suggestions (capped at {@link #MAX_SUGGESTIONS}).
+     * @return The suggestions, most used first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        List<Suggestion> suggestions = new ArrayList<>();
+        if (prefix == null || keys.length == 0 || limit <= 0) {
+            return suggestions;
+        }
+        // "comp350" is typed without the space the course terms use
+        String key = normalize(prefix).replaceFirst("^([a-z]+)(\\d)", "$1 $2");
+        if (key.isEmpty()) {
+            return suggestions;
+        }
+        limit = Math.min(limit, MAX_SUGGESTIONS);
+
+        int node = findNode(key);
+        if (node < 0) {
+            return suggestions;
+        }
+
+        int[] best = topTerms.get(node);
+        if (best == null) {
+            best = scanTop(rangeStart[node], rangeEnd[node], limit);
+        }
+        for (int i = 0; i < best.length && i < limit; i++) {
+            int term = best[i];
+            suggestions.add(new Suggestion(texts[term], types[term], counts[term]));
+        }
+        return suggestions;
+    }
+
+    /**
+     * @return The deepest node whose terms all start with {@code key}, or -1 if no term does.
+     */
+    private int findNode(String key) {
+        int node = 0;
+        while (depth[node] < key.length()) {
+            char c = key.charAt(depth[node]);
+            int child = firstChild[node];
+            while (child >= 0 && keys[rangeStart[child]].charAt(depth[node]) != c) {
+                child = nextSibling[child];
+            }
+            if (child < 0) {
+                return -1;
+            }
+            node = child;
+        }
+        // Edges are compressed, so check the characters we skipped over
+        return keys[rangeStart[node]].startsWith(key) ? node : -1;
+    }
+
+    /**
+     * Finds the {@code limit} most used terms in [start, end) with a bounded heap.
+     */
+    private int[] scanTop(int start, int end, int limit) {
+        Comparator<Integer> byCount = (a, b) -> counts[a] != counts[b]
+                ? Integer.compare(counts[a], counts[b])
+                : Integer.compare(b, a); // on ties prefer the alphabetically first term
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, byCount);
+        for (int term = start; term < end; term++) {
+            heap.offer(term);
+            if (heap.size() > limit) heap.poll();
+        }
+        int[] best = new int[heap.size()];
+        for (int i = best.length - 1; i >= 0; i--) {
+            best[i] = heap.poll();
+        }
+        return best;
+    }
+
+    /** @return The number of distinct suggestion terms. */
+    public int size() {
+        return keys.length;
+    }
+
+    /** @return The number of trie nodes. */
+    public int nodeCount() {
+        return nodeCount;
+    }
+}
@@ -0,0 +1,134 @@
+package newSite.core;
+
+import java.util.List;
+
+/**
+ * The times of the week an event occupies, as a bitmask of 7 days x 288 five-minute slots packed
+ * into 32 longs. Checking two events for a conflict is then a loop of 32 ANDs.
+ * <p>
+ * A slot is set when a meeting touches any part of it, so the mask can report an overlap between
+ * meetings that only share a partial slot (one ending at 10:50, the next starting at 10:50).
+ * {@link Event#ConflictsWith} therefore only uses the mask to rule conflicts out, and confirms a
+ * possible conflict against the meetings themselves.
+ * Instances are immutable.
+ */
+public final class WeeklyOccupancy {
+
+    public static final int SLOT_SECONDS = 5 * 60;
+    public static final int SLOTS_PER_DAY = 24 * 60 * 60 / SLOT_SECONDS; // 288
+    public static final int DAYS = DayMask.DAY_LETTERS.length();         // 7
+    private static final int WORDS = (DAYS * SLOTS_PER_DAY + 63) / 64;    // 32
+
+    public static final WeeklyOccupancy EMPTY = new WeeklyOccupancy(new long[WORDS]);
+
+    private final long[] bits;
+
+    private WeeklyOccupancy(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Builds the occupancy of a list of meetings. Meetings on unknown days are ignored.
+     */
+    public static WeeklyOccupancy of(List<Meeting> meetings) {
+        long[] bits = new long[WORDS];
+        for (Meeting meeting : meetings) {
+            set(bits, DayMask.DAY_LETTERS.indexOf(meeting.day), meeting.startTime, meeting.endTime);
+        }
+        return new WeeklyOccupancy(bits);
+    }
+
+    /**
+     * Builds the occupancy of an event meeting at the same time on each of the given days.
+     *
+     * @param dayMask   The days as a {@link DayMask} bitmask.
+     * @param startTime Start, in seconds from midnight.
+     * @param endTime   End, in seconds from midnight.
+     */
+    public static WeeklyOccupancy of(int dayMask, int startTime, int endTime) {
+        long[] bits = new long[WORDS];
+        for (int day = 0; day < DAYS; day++) {
+            if ((dayMask & (1 << day)) != 0) {
+                set(bits, day, startTime, endTime);
+            }
+        }
+        return new WeeklyOccupancy(bits);
+    }
+
+    private static void set(long[] bits, int day, int startTime, int endTime) {
+        if (day < 0) return;
+        // Mark every slot touched by the closed range [start, end], so the mask of any two meetings
+        // that ConflictsWith would report as overlapping always shares a slot, even a zero-length one
+        int first = clampToDay(Math.min(startTime, endTime)) / SLOT_SECONDS;
+        int last = clampToDay(Math.max(startTime, endTime)) / SLOT_SECONDS; // inclusive
+        for (int slot = first; slot <= last; slot++) {
+            int bit = day * SLOTS_PER_DAY + slot;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private static int clampToDay(int seconds) {
+        return Math.max(0, Math.min(seconds, SLOTS_PER_DAY * SLOT_SECONDS - 1));
+    }
+
+    /**
+     * @return True if the two occupancies share at least one slot.
+     */
+    public boolean intersects(WeeklyOccupancy other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((bits[i] & other.bits[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return A new occupancy with the slots of both.
+     */
+    public WeeklyOccupancy union(WeeklyOccupancy other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = bits[i] | other.bits[i];
+        }
+        return new WeeklyOccupancy(result);
+    }
+
+    /**
+     * @param day  Day index in {@link DayMask#DAY_LETTERS}.
+     * @param slot Five-minute slot of the day, 0 to 287.
+     * @return True if the slot is occupied.
+     */
+    public boolean isOccupied(int day, int slot) {
+        int bit = day * SLOTS_PER_DAY + slot;
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Checks whether a meeting could overlap this occupancy, using the same slots {@link #of} would
+     * set for it. Like {@link #intersects}, a true result still needs an exact check.
+     *
+     * @param day       Day index in {@link DayMask#DAY_LETTERS}; -1 never overlaps.
+     * @param startTime Start, in seconds from midnight.
+     * @param endTime   End, in seconds from midnight.
+     * @return False if the meeting certainly does not overlap anything in this occupancy.
+     */
+    public boolean overlaps(int day, int startTime, int endTime) {
+        if (day < 0) return false;
+        int first = clampToDay(Math.min(startTime, endTime)) / SLOT_SECONDS;
+        int last = clampToDay(Math.max(startTime, endTime)) / SLOT_SECONDS;
+        for (int slot = first; slot <= last; slot++) {
+            if (isOccupied(day, slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+}
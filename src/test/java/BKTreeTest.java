@@ -0,0 +1,53 @@
+import newSite.core.BKTree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BKTreeTest {
+
+    private BKTree tree;
+
+    @BeforeEach
+    public void setUp() {
+        tree = new BKTree();
+        tree.add("accounting", new int[]{0, 1});
+        tree.add("computer", new int[]{2});
+        tree.add("science", new int[]{2, 3});
+        tree.add("graybill", new int[]{0});
+        tree.add("calculus", new int[]{4});
+    }
+
+    private Map<String, Integer> search(String query, int maxDistance) {
+        Map<String, Integer> found = new HashMap<>();
+        tree.search(query, maxDistance, (term, distance, postings) -> found.put(term, distance));
+        return found;
+    }
+
+    @Test
+    public void testExactMatch() {
+        Map<String, Integer> found = search("computer", 0);
+        assertEquals(1, found.size());
+        assertEquals(0, found.get("computer"));
+    }
+
+    @Test
+    public void testFuzzyMatchWithinThreshold() {
+        Map<String, Integer> found = search("acounting", 2);
+        assertEquals(1, found.size());
+        assertEquals(1, found.get("accounting"));
+    }
+
+    @Test
+    public void testNoMatchOutsideThreshold() {
+        assertTrue(search("biology", 2).isEmpty());
+    }
+
+    @Test
+    public void testPostingsAreReturned() {
+        tree.search("science", 0, (term, distance, postings) -> assertArrayEquals(new int[]{2, 3}, postings));
+        assertEquals(5, tree.size());
+    }
+}
@@ -0,0 +1,26 @@
+import newSite.core.DayMask;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DayMaskTest {
+
+    @Test
+    public void testParse() {
+        assertEquals(DayMask.MONDAY | DayMask.WEDNESDAY | DayMask.FRIDAY, DayMask.parse("MWF"));
+        assertEquals(DayMask.TUESDAY | DayMask.THURSDAY, DayMask.parse("TR"));
+        assertEquals(0, DayMask.parse(""));
+        assertEquals(0, DayMask.parse(null));
+    }
+
+    @Test
+    public void testUnknownLettersAreIgnored() {
+        assertEquals(DayMask.TUESDAY, DayMask.parse("Th"));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        assertEquals("MWF", DayMask.toDays(DayMask.parse("FWM")));
+        assertEquals("TR", DayMask.toDays(DayMask.parse("TRTR")));
+    }
+}
@@ -102,7 +102,7 @@ class ScheduleManagerTest {
         // Add the event to the schedule
         boolean conflict = scheduleManager.addEvent(event);
         assertFalse(conflict, "newSite.core.Event should be added without conflict.");
-        assertTrue(ScheduleManager.currentSchedule.events.contains(event),
+        assertTrue(ScheduleManager.currentSchedule.getEvents().contains(event),
                 "newSite.core.Event should be in the schedule.");
         System.out.println("newSite.core.Event added successfully.");
     }
@@ -125,7 +125,7 @@ class ScheduleManagerTest {
         // Attempt to add the conflicting event
         boolean conflict = scheduleManager.addEvent(event2);
         assertTrue(conflict, "newSite.core.Event should conflict with existing event.");
-        assertFalse(ScheduleManager.currentSchedule.events.contains(event2),
+        assertFalse(ScheduleManager.currentSchedule.getEvents().contains(event2),
                 "Conflicting event should not be added to the schedule.");
         System.out.println("newSite.core.Event conflict detected successfully.");
     }
@@ -146,7 +146,7 @@ class ScheduleManagerTest {
         scheduleManager.remEvent(event);
 
         // Check that the event was removed
-        assertFalse(ScheduleManager.currentSchedule.events.contains(event),
+        assertFalse(ScheduleManager.currentSchedule.getEvents().contains(event),
                 "newSite.core.Event should be removed from the schedule.");
         System.out.println("newSite.core.Event removed successfully.");
     }
@@ -166,7 +166,7 @@ class ScheduleManagerTest {
         scheduleManager.remEvent(event);
 
         // Check that the schedule remains unchanged
-        assertTrue(ScheduleManager.currentSchedule.events.isEmpty(),
+        assertTrue(ScheduleManager.currentSchedule.getEvents().isEmpty(),
                 "newSite.core.Schedule should remain unchanged.");
         System.out.println("Non-existent event was not removed, as expected.");
     }
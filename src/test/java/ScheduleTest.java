@@ -35,7 +35,7 @@ public class ScheduleTest {
         boolean conflict = scheduleManager.addEvent(event);
         assertFalse(conflict, "newSite.core.Event should be added without conflict");
         System.out.println(ScheduleManager.getCurrentSchedule());
-        assertTrue(ScheduleManager.getCurrentSchedule().events.contains(event), "newSite.core.Event should be in the schedule");
+        assertTrue(ScheduleManager.getCurrentSchedule().getEvents().contains(event), "newSite.core.Event should be in the schedule");
     }
 
     @Test
@@ -49,7 +49,7 @@ public class ScheduleTest {
         System.out.println("\n\nREMOVING EVENT\n");
         scheduleManager.remEvent(event);
         System.out.println(ScheduleManager.getCurrentSchedule());
-        assertFalse(ScheduleManager.getCurrentSchedule().events.contains(event), "newSite.core.Event should be removed from the schedule");
+        assertFalse(ScheduleManager.getCurrentSchedule().getEvents().contains(event), "newSite.core.Event should be removed from the schedule");
     }
 
     @Test
@@ -0,0 +1,51 @@
+import newSite.core.SearchCache;
+import newSite.core.SearchIndex;
+import newSite.core.SearchMatches;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchCacheTest {
+
+    private final SearchIndex index = SearchIndex.build(new ArrayList<>());
+    private final SearchMatches results = new SearchMatches(index, new int[0], new int[0]);
+
+    @Test
+    public void testHitAndMissCounters() {
+        SearchCache cache = new SearchCache();
+        assertNull(cache.get("comp||", index));
+        cache.put("comp||", results);
+        assertSame(results, cache.get("comp||", index));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        SearchCache cache = new SearchCache(2, SearchCache.DEFAULT_TTL_MILLIS);
+        cache.put("comp||", results);
+        cache.put("calc||", results);
+        cache.get("comp||", index); // comp is now the most recently used
+        cache.put("bio||", results);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("calc||", index));
+        assertNotNull(cache.get("comp||", index));
+    }
+
+    @Test
+    public void testExpiredEntriesAreDropped() throws InterruptedException {
+        SearchCache cache = new SearchCache(10, 1);
+        cache.put("comp||", results);
+        Thread.sleep(5);
+        assertNull(cache.get("comp||", index));
+    }
+
+    @Test
+    public void testEntriesFromAnotherIndexAreIgnored() {
+        SearchCache cache = new SearchCache();
+        cache.put("comp||", results);
+        assertNull(cache.get("comp||", SearchIndex.build(new ArrayList<>())));
+    }
+}
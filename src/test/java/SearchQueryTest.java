@@ -0,0 +1,72 @@
+import newSite.core.Event;
+import newSite.core.Filter;
+import newSite.core.Schedule;
+import newSite.core.SearchQuery;
+import newSite.core.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchQueryTest {
+
+    @Test
+    public void testWithMethodsReturnCopies() {
+        SearchQuery base = new SearchQuery("  comp 350 ");
+        SearchQuery filtered = base.withDays("MWF").withTimeRange(new TimeSlot("09:00:00", "12:00:00"));
+
+        assertEquals("comp 350", base.getText());
+        assertNull(base.getDayRange());
+        assertFalse(base.hasTimeRange());
+
+        assertEquals("MWF", filtered.getDayRange());
+        assertTrue(filtered.hasTimeRange());
+        assertEquals(9 * 3600, filtered.getStartTime());
+        assertEquals(12 * 3600, filtered.getEndTime());
+    }
+
+    @Test
+    public void testInvalidDaysAreIgnored() {
+        assertNull(new SearchQuery("").withDays("XYZ").getDayRange());
+        assertEquals("TR", new SearchQuery("").withDays("T, R").getDayRange());
+    }
+
+    @Test
+    public void testFromFilterTakesSnapshot() {
+        Filter filter = new Filter();
+        filter.timeRange = new TimeSlot("08:00:00", "10:00:00");
+        filter.dayRange = "TR";
+
+        SearchQuery query = SearchQuery.fromFilter("calc", filter);
+        filter.timeRange.startTime = 0;
+        filter.dayRange = null;
+
+        assertEquals(8 * 3600, query.getStartTime());
+        assertEquals("TR", query.getDayRange());
+    }
+
+    @Test
+    public void testSemesterIsPartOfCacheKey() {
+        SearchQuery any = new SearchQuery("comp");
+        SearchQuery spring = any.withSemester(" 2025_Spring ");
+
+        assertNull(any.getSemester());
+        assertEquals("2025_Spring", spring.getSemester());
+        assertNotEquals(any.cacheKey(), spring.cacheKey());
+        assertEquals(spring.cacheKey(), any.withSemester("2025_SPRING").cacheKey());
+        assertNull(spring.withSemester("").getSemester());
+    }
+
+    @Test
+    public void testScheduleFilterTakesSnapshot() {
+        Schedule schedule = new Schedule();
+        schedule.addEvent(new Event("Math Class", "MWF", new TimeSlot("08:00:00", "08:50:00")));
+
+        SearchQuery query = new SearchQuery("comp").withoutConflictsWith(schedule);
+        schedule.addEvent(new Event("Science Class", "TR", new TimeSlot("09:30:00", "10:45:00")));
+
+        assertTrue(query.hasScheduleFilter());
+        assertFalse(new SearchQuery("comp").hasScheduleFilter());
+        assertEquals(3, query.getScheduleMeetings().size(), "Later changes to the schedule should not affect the query");
+        assertEquals(new SearchQuery("comp").cacheKey(), query.cacheKey(), "The schedule filter is applied after the cache");
+    }
+}
@@ -1,6 +1,11 @@
+import newSite.core.DayMask;
 import newSite.core.Event;
+import newSite.core.Schedule;
 import newSite.core.TimeSlot;
+import newSite.core.WeeklyOccupancy;
 import org.junit.jupiter.api.Test;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TimeslotConflictTest {
@@ -85,4 +90,51 @@ public class TimeslotConflictTest {
         System.out.println(event2.quietToString());
         assertFalse(event1.ConflictsWith(event2), "Events with adjacent times should not conflict");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConflictZeroLengthEvent() {
+        System.out.println("Testing conflict with a zero-length event inside another...");
+        Event event1 = new Event("Math Class", "MWF", new TimeSlot("08:00:00", "09:00:00"));
+        Event event2 = new Event("Reminder", "W", new TimeSlot("08:32:00", "08:32:00"));
+        assertTrue(event1.ConflictsWith(event2), "A zero-length event inside another event should conflict");
+        assertTrue(event2.ConflictsWith(event1), "Conflicts should be symmetric");
+    }
+
+    @Test
+    public void testWeeklyOccupancy() {
+        System.out.println("Testing weekly occupancy of an event...");
+        Event event = new Event("Math Class", "MWF", new TimeSlot("08:00:00", "08:50:00"));
+        WeeklyOccupancy occupancy = event.getOccupancy();
+        int slot = 8 * 60 * 60 / WeeklyOccupancy.SLOT_SECONDS;
+        assertTrue(occupancy.isOccupied(0, slot), "Monday 08:00 should be occupied");
+        assertTrue(occupancy.isOccupied(4, slot + 9), "Friday 08:45 should be occupied");
+        assertFalse(occupancy.isOccupied(1, slot), "Tuesday 08:00 should be free");
+        assertFalse(occupancy.isOccupied(0, slot - 1), "Monday 07:55 should be free");
+        assertEquals(3, event.getMeetings().size(), "MWF should give three meetings");
+    }
+
+    @Test
+    public void testScheduleIntervalIndex() {
+        System.out.println("Testing schedule conflict and window queries...");
+        Schedule schedule = new Schedule();
+        Event math = new Event("Math Class", "MWF", new TimeSlot("08:00:00", "08:50:00"));
+        Event science = new Event("Science Class", "TR", new TimeSlot("09:30:00", "10:45:00"));
+        assertTrue(schedule.addEvent(math));
+        assertTrue(schedule.addEvent(science));
+        assertFalse(schedule.addEvent(math), "Adding the same event twice should do nothing");
+
+        Event lab = new Event("Lab", "R", new TimeSlot("10:00:00", "11:00:00"));
+        assertSame(science, schedule.findConflict(lab), "Lab should conflict with the Thursday class");
+        assertTrue(schedule.eventsOverlapping(DayMask.parse("MT"), 8 * 3600, 10 * 3600).containsAll(List.of(math, science)));
+        assertTrue(schedule.eventsOverlapping(DayMask.parse("W"), 9 * 3600, 10 * 3600).isEmpty(), "Nothing meets Wednesday 9-10");
+
+        assertTrue(schedule.removeEvent(science));
+        assertNull(schedule.findConflict(lab), "Lab should be free once the class is removed");
+
+        // Swapping one event for another of the same size must not leave the index behind
+        schedule.setEvents(List.of(science));
+        assertSame(science, schedule.findConflict(lab), "Lab should conflict once the events are replaced");
+        assertThrows(UnsupportedOperationException.class, () -> schedule.getEvents().add(math),
+                "Events should only change through the schedule");
+    }
+}
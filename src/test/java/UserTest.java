@@ -3,7 +3,6 @@ import newSite.core.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.io.File;
-import java.util.HashSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,7 +23,6 @@ class UserTest {
         // Create a schedule
         Schedule schedule = new Schedule();
         schedule.name = "TestSchedule";
-        schedule.events = new HashSet<>();
         System.out.println("Created schedule: " + schedule.name);
 
         // Save the schedule
@@ -60,7 +58,6 @@ class UserTest {
         // Create and save a schedule
         Schedule schedule = new Schedule();
         schedule.name = "TestSchedule";
-        schedule.events = new HashSet<>();
         user.saveSchedule(schedule);
         System.out.println("Saved schedule: " + schedule.name);
 
@@ -95,7 +92,6 @@ class UserTest {
         // Create and save a schedule
         Schedule schedule = new Schedule();
         schedule.name = "OldSchedule";
-        schedule.events = new HashSet<>();
         user.saveSchedule(schedule);
         System.out.println("Saved schedule: " + schedule.name);
 
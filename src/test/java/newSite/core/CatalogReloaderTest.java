@@ -0,0 +1,71 @@
+package newSite.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogReloaderTest {
+    private Path directory;
+    private Path catalogFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("catalog");
+        catalogFile = directory.resolve("catalog.json");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    // A catalog file with one ACCT 201 section per letter
+    private static String catalog(String... sections) {
+        List<String> classes = new ArrayList<>();
+        for (String section : sections) {
+            classes.add("{\"credits\":3,\"faculty\":[\"Graybill, Keith B.\"],\"location\":\"SHAL 316\"," +
+                    "\"name\":\"PRINCIPLES OF ACCOUNTING I\",\"number\":201,\"open_seats\":1,\"section\":\"" + section + "\"," +
+                    "\"semester\":\"2023_Fall\",\"subject\":\"ACCT\",\"times\":[{\"day\":\"T\",\"end_time\":\"16:45:00\"," +
+                    "\"start_time\":\"15:30:00\"}],\"total_seats\":30}");
+        }
+        return "{\"classes\":[" + String.join(",", classes) + "]}";
+    }
+
+    @Test
+    void testTruncatedFileKeepsCurrentCatalog() throws IOException {
+        Files.writeString(catalogFile, catalog("A", "B"));
+        Search search = new Search();
+        CatalogReloader reloader = new CatalogReloader(catalogFile.toString(), search);
+        assertTrue(reloader.reload().reloaded);
+        assertEquals(2, search.execute(new SearchQuery("accounting")).size());
+        Path snapshot = Paths.get(catalogFile + ".snapshot");
+        byte[] snapshotBefore = Files.readAllBytes(snapshot);
+
+        // A copy caught half-way: cut off inside the third section
+        String full = catalog("A", "B", "C");
+        Files.writeString(catalogFile, full.substring(0, full.length() - 40));
+        CatalogReloader.ReloadResult result = reloader.reload();
+        assertFalse(result.reloaded, "A truncated file should not be swapped in");
+        assertEquals(2, search.execute(new SearchQuery("accounting")).size(), "The previous catalog should still be served");
+        assertArrayEquals(snapshotBefore, Files.readAllBytes(snapshot), "No snapshot should be written for a partial catalog");
+
+        // Once the copy has finished, the next reload picks it up
+        Files.writeString(catalogFile, full);
+        assertTrue(reloader.reload().reloaded);
+        assertEquals(3, search.execute(new SearchQuery("accounting")).size());
+    }
+}
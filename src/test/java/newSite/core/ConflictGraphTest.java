@@ -0,0 +1,62 @@
+package newSite.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictGraphTest {
+    private CourseCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        Set<Course> courseDatabase = new HashSet<>();
+        courseDatabase.add(new Course("PRINCIPLES OF ACCOUNTING I",
+                new TimeSlot("15:30:00", "16:45:00"), "TR",
+                new Professor("Graybill, Keith B."), 201, "2023_Fall", "SHAL 316", 'A', "ACCT", 3));
+        courseDatabase.add(new Course("PRINCIPLES OF ACCOUNTING I",
+                new TimeSlot("10:00:00", "10:50:00"), "MWF",
+                new Professor("Shultz, Tricia Michele"), 201, "2023_Fall", "SHAL 309", 'B', "ACCT", 3));
+        courseDatabase.add(new Course("INTRODUCTION TO COMPUTER SCIENCE",
+                new TimeSlot("09:00:00", "10:15:00"), "MW",
+                new Professor("Smith, John"), 101, "2023_Fall", "SCI 202", 'C', "CS", 3));
+        // Same time as CS 101 C, but another semester
+        courseDatabase.add(new Course("INTRODUCTION TO COMPUTER SCIENCE",
+                new TimeSlot("09:00:00", "10:15:00"), "MW",
+                new Professor("Smith, John"), 101, "2024_Spring", "SCI 202", 'C', "CS", 3));
+        catalog = CourseCatalog.build(courseDatabase);
+    }
+
+    @Test
+    void testCatalogConflictGraph() {
+        int accountingA = catalog.ordinalOf("ACCT", 201, 'A', "2023_Fall");
+        int accountingB = catalog.ordinalOf("ACCT", 201, 'B', "2023_Fall");
+        int computing = catalog.ordinalOf("CS", 101, 'C', "2023_Fall");
+        int computingSpring = catalog.ordinalOf("CS", 101, 'C', "2024_Spring");
+
+        // MWF 10:00-10:50 overlaps MW 09:00-10:15; TR 15:30-16:45 overlaps neither
+        ConflictGraph conflicts = catalog.conflicts();
+        assertTrue(conflicts.conflicts(accountingB, computing));
+        assertTrue(conflicts.conflicts(computing, accountingB), "Conflicts should be symmetric");
+        assertFalse(conflicts.conflicts(accountingA, accountingB));
+        assertFalse(conflicts.conflicts(computing, computingSpring), "Sections of different semesters never conflict");
+        assertTrue(conflicts.conflictsOf(accountingA).isEmpty());
+        assertEquals(1, conflicts.edgeCount());
+        assertEquals(1, conflicts.conflictingPairs(catalog.allCourses().allCourses()).size());
+    }
+
+    @Test
+    void testConflictsWithAny() {
+        int accountingB = catalog.ordinalOf("ACCT", 201, 'B', "2023_Fall");
+        int computing = catalog.ordinalOf("CS", 101, 'C', "2023_Fall");
+
+        BitSet scheduled = new BitSet();
+        scheduled.set(accountingB);
+        BitSet clashing = catalog.conflicts().conflictsWithAny(scheduled);
+        assertEquals(1, clashing.cardinality());
+        assertTrue(clashing.get(computing));
+    }
+}
@@ -0,0 +1,77 @@
+package newSite.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleGeneratorTest {
+    private ScheduleGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        Set<Course> courseDatabase = new HashSet<>();
+        Professor prof = new Professor("Smith, John");
+
+        // COMP 141: A clashes with MATH 161 A, B does not
+        courseDatabase.add(new Course("COMPUTER PROGRAMMING I", new TimeSlot("09:00:00", "09:50:00"), "MWF",
+                prof, 141, "2025_Spring", "STEM 376", 'A', "COMP", 3));
+        courseDatabase.add(new Course("COMPUTER PROGRAMMING I", new TimeSlot("11:00:00", "11:50:00"), "MWF",
+                prof, 141, "2025_Spring", "STEM 376", 'B', "COMP", 3));
+        courseDatabase.add(new Course("CALCULUS I", new TimeSlot("09:30:00", "10:20:00"), "MWF",
+                prof, 161, "2025_Spring", "HAL 208", 'A', "MATH", 4));
+        courseDatabase.add(new Course("CALCULUS I", new TimeSlot("13:00:00", "14:15:00"), "TR",
+                prof, 161, "2025_Spring", "HAL 208", 'B', "MATH", 4));
+        // Same course in another semester is never used
+        courseDatabase.add(new Course("CALCULUS I", new TimeSlot("11:00:00", "11:50:00"), "MWF",
+                prof, 161, "2024_Fall", "HAL 208", 'A', "MATH", 4));
+
+        generator = new ScheduleGenerator(CourseCatalog.build(courseDatabase));
+    }
+
+    private static List<ScheduleGenerator.WantedCourse> wanted() {
+        return List.of(new ScheduleGenerator.WantedCourse("COMP", 141), new ScheduleGenerator.WantedCourse("MATH", 161));
+    }
+
+    @Test
+    void testEnumeratesConflictFreeCombinations() {
+        ScheduleGenerator.Result result = generator.generate("2025_Spring", wanted(), null, ScheduleGenerator.DEFAULT_LIMIT);
+
+        // 2 x 2 combinations, minus COMP 141 A with MATH 161 A
+        assertEquals(3, result.schedules.size());
+        assertFalse(result.truncated);
+        for (List<Course> schedule : result.schedules) {
+            assertEquals(141, schedule.get(0).courseCode, "Sections should follow the order of the request");
+            assertFalse(schedule.get(0).ConflictsWith(schedule.get(1)));
+            assertEquals("2025_Spring", schedule.get(1).semester);
+        }
+    }
+
+    @Test
+    void testFixedEventsAndLimit() {
+        Schedule fixed = new Schedule();
+        fixed.addEvent(new Event("Work", "TR", new TimeSlot("12:00:00", "17:00:00")));
+
+        // Work rules out MATH 161 B, leaving only COMP 141 B with MATH 161 A
+        ScheduleGenerator.Result result = generator.generate("2025_Spring", wanted(), fixed, ScheduleGenerator.DEFAULT_LIMIT);
+        assertEquals(1, result.schedules.size());
+        assertEquals('B', result.schedules.get(0).get(0).section);
+        assertEquals('A', result.schedules.get(0).get(1).section);
+
+        ScheduleGenerator.Result limited = generator.generate("2025_Spring", wanted(), null, 2);
+        assertEquals(2, limited.schedules.size());
+        assertTrue(limited.truncated);
+    }
+
+    @Test
+    void testUnavailableCourse() {
+        ScheduleGenerator.Result result = generator.generate("2025_Spring",
+                List.of(new ScheduleGenerator.WantedCourse("COMP", 141), new ScheduleGenerator.WantedCourse("COMP", 999)),
+                null, ScheduleGenerator.DEFAULT_LIMIT);
+        assertTrue(result.schedules.isEmpty());
+        assertEquals(List.of("COMP 999"), result.unavailable);
+    }
+}